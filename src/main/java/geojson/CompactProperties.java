@@ -0,0 +1,345 @@
+package geojson;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Properties map that stores key ids of a shared {@link PropertyKeys} dictionary instead of keys and hash nodes.
+ * Integer, Long, Double and Boolean values are kept unboxed in a long[] slot, other values in an Object[] that is
+ * only allocated once the first of them is put. Lookups scan the few slots of the feature, so the map is meant for
+ * the usual small property sets.
+ * <p>
+ * Values are boxed again by {@link #get(Object)} (with the usual caches of Integer.valueOf etc.), use
+ * {@link #getLong(String, long)} and {@link #getDouble(String, double)} to read numbers without boxing.
+ * Null keys are not supported. Not thread safe.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompactProperties extends AbstractMap<String, Object> implements Serializable {
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte OBJECT = 5;
+
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final byte[] EMPTY_TYPES = new byte[0];
+    private static final long[] EMPTY_BITS = new long[0];
+
+    private final PropertyKeys keys;
+
+    private int size;
+    private int[] ids = EMPTY_IDS;
+    private byte[] types = EMPTY_TYPES;
+    private long[] bits = EMPTY_BITS;
+    private Object[] objects;
+
+    private transient int modCount;
+    private transient Set<Entry<String, Object>> entrySet;
+
+    public CompactProperties(PropertyKeys keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * @param keys       the shared dictionary
+     * @param properties initial properties
+     */
+    public CompactProperties(PropertyKeys keys, Map<String, ?> properties) {
+        this(keys);
+        ensureCapacity(properties.size());
+        putAll(properties);
+    }
+
+    public PropertyKeys getKeys() {
+        return keys;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slot(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = slot(key);
+        return slot < 0 ? null : value(slot);
+    }
+
+    /**
+     * @return the Integer, Long or Double value of the key converted to long, defaultValue if the key is missing or
+     * has no primitive number value
+     */
+    public long getLong(String key, long defaultValue) {
+        int slot = slot(key);
+        if (slot < 0)
+            return defaultValue;
+        switch (types[slot]) {
+            case INT:
+            case LONG:
+                return bits[slot];
+            case DOUBLE:
+                return (long) Double.longBitsToDouble(bits[slot]);
+            default:
+                return defaultValue;
+        }
+    }
+
+    /**
+     * @return the Integer, Long or Double value of the key converted to double, defaultValue if the key is missing
+     * or has no primitive number value
+     */
+    public double getDouble(String key, double defaultValue) {
+        int slot = slot(key);
+        if (slot < 0)
+            return defaultValue;
+        switch (types[slot]) {
+            case INT:
+            case LONG:
+                return bits[slot];
+            case DOUBLE:
+                return Double.longBitsToDouble(bits[slot]);
+            default:
+                return defaultValue;
+        }
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null)
+            throw new NullPointerException("null keys are not supported");
+        int slot = slot(key);
+        Object previous = null;
+        if (slot >= 0) {
+            previous = value(slot);
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+            ids[slot] = keys.id(key);
+            modCount++;
+        }
+        set(slot, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = slot(key);
+        if (slot < 0)
+            return null;
+        Object previous = value(slot);
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        ids = EMPTY_IDS;
+        types = EMPTY_TYPES;
+        bits = EMPTY_BITS;
+        objects = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    CompactProperties.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int slot(Object key) {
+        int id = keys.find(key);
+        if (id < 0)
+            return -1;
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id)
+                return i;
+        }
+        return -1;
+    }
+
+    private Object value(int slot) {
+        long value = bits[slot];
+        switch (types[slot]) {
+            case INT:
+                return (int) value;
+            case LONG:
+                return value;
+            case DOUBLE:
+                return Double.longBitsToDouble(value);
+            case BOOLEAN:
+                return value != 0;
+            case OBJECT:
+                return objects[slot];
+            default:
+                return null;
+        }
+    }
+
+    private void set(int slot, Object value) {
+        if (objects != null)
+            objects[slot] = null;
+        bits[slot] = 0;
+
+        // only exact classes, so that get returns values of the type that was put
+        Class<?> type = value == null ? null : value.getClass();
+        if (type == null) {
+            types[slot] = NULL;
+        } else if (type == Integer.class) {
+            types[slot] = INT;
+            bits[slot] = (Integer) value;
+        } else if (type == Long.class) {
+            types[slot] = LONG;
+            bits[slot] = (Long) value;
+        } else if (type == Double.class) {
+            types[slot] = DOUBLE;
+            bits[slot] = Double.doubleToRawLongBits((Double) value);
+        } else if (type == Boolean.class) {
+            types[slot] = BOOLEAN;
+            bits[slot] = (Boolean) value ? 1 : 0;
+        } else {
+            if (objects == null)
+                objects = new Object[ids.length];
+            types[slot] = OBJECT;
+            objects[slot] = value;
+        }
+    }
+
+    private void removeSlot(int slot) {
+        int moved = size - slot - 1;
+        System.arraycopy(ids, slot + 1, ids, slot, moved);
+        System.arraycopy(types, slot + 1, types, slot, moved);
+        System.arraycopy(bits, slot + 1, bits, slot, moved);
+        if (objects != null) {
+            System.arraycopy(objects, slot + 1, objects, slot, moved);
+            objects[size - 1] = null;
+        }
+        size--;
+        modCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length)
+            return;
+        int length = Math.max(capacity, ids.length == 0 ? 4 : ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, length);
+        types = Arrays.copyOf(types, length);
+        bits = Arrays.copyOf(bits, length);
+        if (objects != null)
+            objects = Arrays.copyOf(objects, length);
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next >= size)
+                throw new NoSuchElementException();
+            last = next++;
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            removeSlot(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Entry of a slot, valid until the map is structurally modified
+     */
+    private final class SlotEntry implements Entry<String, Object> {
+
+        private final int slot;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return keys.key(ids[slot]);
+        }
+
+        @Override
+        public Object getValue() {
+            return value(slot);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = value(slot);
+            set(slot, value);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package geojson;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of decimal digits written for geometry coordinates, configurable per SRID.
+ * E.g. 6 digits for WGS84 (~10cm) and 2 digits for Google Mercator (cm):
+ * <pre>
+ * new CoordinatePrecision()
+ *         .setDecimals(GeoUtil.WGS84_SRID, 6)
+ *         .setDecimals(GeoUtil.GOOGLE_MERCATOR_SRID, 2);
+ * </pre>
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CoordinatePrecision implements Serializable {
+
+    /**
+     * Coordinates are written with full double precision
+     */
+    public static final int FULL = -1;
+
+    private int defaultDecimals = FULL;
+    private final Map<Integer, Integer> decimals = new HashMap<>();
+
+    /**
+     * @param decimals decimal digits for geometries without a specific setting, FULL to disable rounding
+     */
+    public CoordinatePrecision setDecimals(int decimals) {
+        this.defaultDecimals = checkDecimals(decimals);
+        return this;
+    }
+
+    /**
+     * @param srid     SRID of the geometries
+     * @param decimals decimal digits for geometries with the SRID, FULL to disable rounding
+     */
+    public CoordinatePrecision setDecimals(int srid, int decimals) {
+        this.decimals.put(srid, checkDecimals(decimals));
+        return this;
+    }
+
+    public int getDecimals(int srid) {
+        Integer d = decimals.get(srid);
+        return d != null ? d : defaultDecimals;
+    }
+
+    private static int checkDecimals(int decimals) {
+        if (decimals != FULL && (decimals < 0 || decimals > DecimalFormatter.MAX_DECIMALS))
+            throw new IllegalArgumentException("decimals must be between 0 and " + DecimalFormatter.MAX_DECIMALS);
+        return decimals;
+    }
+}
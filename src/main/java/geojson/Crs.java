@@ -1,5 +1,7 @@
 package geojson;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -7,12 +9,23 @@ import java.util.Map;
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class Crs implements Serializable {
 
+    public static final String CRS84 = "urn:ogc:def:crs:OGC:1.3:CRS84";
+
     private String type = "name";
     private Map<String, Object> properties = new HashMap<>();
 
     public Crs() {
         properties = new HashMap<>();
-        properties.put("name", "urn:ogc:def:crs:OGC:1.3:CRS84");
+        properties.put("name", CRS84);
+    }
+
+    /**
+     * @param srid EPSG code, 4326 is named as CRS84 (lon/lat order)
+     */
+    public Crs(int srid) {
+        this();
+        if (srid != GeoUtil.WGS84_SRID)
+            properties.put("name", "urn:ogc:def:crs:EPSG::" + srid);
     }
 
     public String getType() {
@@ -30,4 +43,31 @@ public class Crs implements Serializable {
     public void setProperties(Map<String, Object> properties) {
         this.properties = properties;
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves the SRID of a named crs like "urn:ogc:def:crs:OGC:1.3:CRS84", "urn:ogc:def:crs:EPSG::3857",
+     * "EPSG:3857" or "http://www.opengis.net/def/crs/EPSG/0/3857".
+     *
+     * @return the EPSG code or 0 if the crs can not be resolved
+     */
+    @JsonIgnore
+    public int getSrid() {
+        Object name = properties != null ? properties.get("name") : null;
+        if (!"name".equals(type) || !(name instanceof String))
+            return 0;
+
+        String n = ((String) name).trim();
+        if (n.endsWith("CRS84"))
+            return GeoUtil.WGS84_SRID;
+        if (!n.toUpperCase().contains("EPSG"))
+            return 0;
+
+        int end = n.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(n.charAt(start - 1)))
+            start--;
+        if (start == end || end - start > 9)
+            return 0;
+        return Integer.parseInt(n.substring(start, end));
+    }
+}
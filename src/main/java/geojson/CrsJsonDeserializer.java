@@ -0,0 +1,38 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deserializes a Crs and publishes its SRID to the geometries that follow it in the same GeoJSON object,
+ * see {@link GeometryJsonDeserializer#SRID_ATTRIBUTE}.
+ */
+@SuppressWarnings({"DuplicateThrows", "WeakerAccess"})
+public class CrsJsonDeserializer extends JsonDeserializer<Crs> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Crs deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        Map<String, Object> node = ctxt.readValue(jp, Map.class);
+
+        Crs crs = new Crs();
+        if (node.get("type") instanceof String)
+            crs.setType((String) node.get("type"));
+        if (node.get("properties") instanceof Map)
+            crs.setProperties((Map<String, Object>) node.get("properties"));
+        else
+            crs.setProperties(new HashMap<String, Object>());
+
+        int srid = crs.getSrid();
+        if (srid != 0)
+            ctxt.setAttribute(GeometryJsonDeserializer.SRID_ATTRIBUTE, srid);
+
+        return crs;
+    }
+}
@@ -0,0 +1,91 @@
+package geojson;
+
+/**
+ * Writes doubles rounded to a fixed number of decimal digits as ASCII into a char buffer without creating
+ * intermediate Strings or BigDecimals. Trailing zeros are omitted, e.g. 13.404953999999999 with 6 decimals
+ * is written as "13.404954" and 9.5 with 2 decimals as "9.5". Halves are rounded away from zero.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class DecimalFormatter {
+
+    public static final int MAX_DECIMALS = 12;
+
+    /**
+     * Sufficient size of the buffer passed to {@link #format(double, int, char[])}
+     */
+    public static final int BUFFER_SIZE = 24;
+
+    // above 2^53 a double no longer holds every integer, rounding to the decimal digits is not reliable anymore
+    private static final double MAX_SCALED = 9007199254740992d;
+
+    private static final long[] POW10 = new long[MAX_DECIMALS + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++)
+            POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private DecimalFormatter() {
+    }
+
+    /**
+     * @param value    the value
+     * @param decimals decimal digits, 0 to MAX_DECIMALS
+     * @param buffer   buffer of at least BUFFER_SIZE chars
+     * @return number of chars written or -1 if the value can not be formatted (NaN, infinite or too large)
+     */
+    public static int format(double value, int decimals, char[] buffer) {
+        long pow = POW10[decimals];
+        double scaled = value * pow;
+        if (!(Math.abs(scaled) < MAX_SCALED))
+            return -1;
+
+        // halves are rounded away from zero, so negative coordinates round like positive ones
+        long units = Math.round(Math.abs(scaled));
+        int pos = 0;
+        if (scaled < 0 && units != 0)
+            buffer[pos++] = '-';
+
+        pos = writeDigits(units / pow, buffer, pos);
+
+        long fraction = units % pow;
+        if (fraction != 0) {
+            int digits = decimals;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            buffer[pos++] = '.';
+            for (int i = pos + digits - 1; i >= pos; i--) {
+                buffer[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            pos += digits;
+        }
+        return pos;
+    }
+
+    /**
+     * @return value rounded to the decimal digits, for outputs that can not take formatted numbers
+     */
+    public static double round(double value, int decimals) {
+        long pow = POW10[decimals];
+        double scaled = value * pow;
+        if (!(Math.abs(scaled) < MAX_SCALED))
+            return value;
+        long units = Math.round(Math.abs(scaled));
+        return (scaled < 0 ? -units : units) / (double) pow;
+    }
+
+    private static int writeDigits(long value, char[] buffer, int pos) {
+        int length = 1;
+        for (long v = value; v >= 10; v /= 10)
+            length++;
+        for (int i = pos + length - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + length;
+    }
+}
@@ -1,15 +1,21 @@
 package geojson;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.vividsolutions.jts.geom.Envelope;
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 @JsonTypeInfo(property = "type", use = JsonTypeInfo.Id.NONE)
 public class Feature extends GeoJsonObj {
 
     private Geometry geometry;
+    // geometry read lazily and not decoded yet
+    private volatile RawGeometry rawGeometry;
+    private transient volatile PreparedGeometry preparedGeometry;
 
     // useful for subclasses that override the JsonTypInfo with NONE
     public String getType() {
@@ -24,11 +30,71 @@ public class Feature extends GeoJsonObj {
         return super.getBbox();
     }
 
+    /**
+     * Lazily read geometries are decoded by the first call.
+     */
+    @JsonIgnore
     public Geometry getGeometry() {
+        if (rawGeometry != null) {
+            synchronized (this) {
+                RawGeometry raw = rawGeometry;
+                if (raw != null) {
+                    geometry = raw.decode();
+                    rawGeometry = null;
+                }
+            }
+        }
         return geometry;
     }
 
+    @JsonIgnore
     public void setGeometry(Geometry geometry) {
         this.geometry = geometry;
+        this.rawGeometry = null;
+        this.preparedGeometry = null;
+    }
+
+    /**
+     * @return the geometry as read if it was not decoded yet, otherwise the geometry
+     */
+    @JsonProperty("geometry")
+    Object getGeometryJson() {
+        RawGeometry raw = rawGeometry;
+        return raw != null ? raw : geometry;
+    }
+
+    @JsonProperty("geometry")
+    void setGeometryJson(RawGeometry raw) {
+        if (raw == null || raw.isDecoded()) {
+            setGeometry(raw != null ? raw.decode() : null);
+        } else {
+            this.geometry = null;
+            this.preparedGeometry = null;
+            this.rawGeometry = raw;
+        }
+    }
+
+    /**
+     * @return the lazily read geometry or null if the geometry is decoded
+     */
+    RawGeometry getRawGeometry() {
+        return rawGeometry;
+    }
+
+    /**
+     * Prepared version of the geometry for repeated predicates (contains, intersects, covers...), built on first
+     * use and dropped by {@link #setGeometry}. Changing the coordinates of the geometry in place requires calling
+     * setGeometry again.
+     *
+     * @return the prepared geometry or null if the feature has no geometry
+     */
+    @JsonIgnore
+    public PreparedGeometry getPreparedGeometry() {
+        PreparedGeometry prepared = preparedGeometry;
+        if (prepared == null && getGeometry() != null) {
+            prepared = PreparedGeometryFactory.prepare(getGeometry());
+            preparedGeometry = prepared;
+        }
+        return prepared;
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vividsolutions.jts.geom.Envelope;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the features of a FeatureCollection one at a time instead of loading the whole "features" list.
+ * <p>
+ * Members of the collection that appear before "features" (id, crs, bbox, properties) are available right after
+ * construction, members that follow the "features" array once the iteration is finished. A crs before "features"
+ * determines the SRID of the feature geometries, as in {@link GeoJsonObjDeserializer}.
+ * <pre>
+ * try (FeatureCollectionReader&lt;Feature&gt; reader = new FeatureCollectionReader&lt;&gt;(in, Feature.class)) {
+ *     for (Feature feature : reader) { ... }
+ * }
+ * </pre>
+ *
+ * @param <T> the Feature type the features are bound to
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureCollectionReader<T extends Feature> implements Iterator<T>, Iterable<T>, Closeable {
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private ObjectReader featureReader;
+
+    private String id;
+    private Crs crs;
+    private Envelope bbox;
+    private Map<String, Object> properties = new HashMap<>();
+
+    private boolean inFeatures;
+    private T next;
+
+    public FeatureCollectionReader(InputStream in, Class<T> featureType) throws IOException {
+        this(Mapper.get(), Mapper.get().getFactory().createParser(in), featureType);
+    }
+
+    /**
+     * @param parser parser positioned before or on the START_OBJECT of the FeatureCollection, closed together
+     *               with this reader
+     */
+    public FeatureCollectionReader(ObjectMapper mapper, JsonParser parser, Class<T> featureType) throws IOException {
+        this.mapper = mapper;
+        this.parser = parser;
+        // with compact properties the features share one key dictionary
+        this.featureReader = mapper.readerFor(featureType)
+                .withAttribute(GeoJsonObjDeserializer.PROPERTY_KEYS_ATTRIBUTE, new PropertyKeys());
+
+        JsonToken token = parser.getCurrentToken();
+        if (token == null)
+            token = parser.nextToken();
+        if (token != JsonToken.START_OBJECT)
+            throw new IllegalArgumentException("FeatureCollection object expected but was " + token);
+
+        readMembers();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Crs getCrs() {
+        return crs;
+    }
+
+    public Envelope getBbox() {
+        return bbox;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null)
+            return true;
+        if (!inFeatures)
+            return false;
+
+        try {
+            JsonToken token = parser.nextToken();
+            while (token == JsonToken.VALUE_NULL)
+                token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                next = featureReader.readValue(parser);
+                return true;
+            }
+            if (token != JsonToken.END_ARRAY)
+                throw new IllegalArgumentException("Feature object expected but was " + token);
+
+            inFeatures = false;
+            readMembers();
+            close();
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T feature = next;
+        next = null;
+        return feature;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this;
+    }
+
+    /**
+     * @return sequential stream of the remaining features, closing the stream closes this reader
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Reads collection members until the start of the "features" array or the end of the collection object.
+     */
+    private void readMembers() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL)
+                continue;
+
+            switch (field) {
+                case "features":
+                    if (token != JsonToken.START_ARRAY)
+                        throw new IllegalArgumentException("features array expected but was " + token);
+                    inFeatures = true;
+                    return;
+                case "id":
+                    id = parser.getValueAsString();
+                    break;
+                case "crs":
+                    crs = mapper.readValue(parser, Crs.class);
+                    // the features are read on their own, so they need the collection crs passed explicitly
+                    if (crs.getSrid() != 0)
+                        featureReader = featureReader.withAttribute(GeometryJsonDeserializer.SRID_ATTRIBUTE,
+                                crs.getSrid());
+                    break;
+                case "bbox":
+                    bbox = mapper.readValue(parser, Envelope.class);
+                    break;
+                case "properties":
+                    properties.putAll(mapper.<Map<String, Object>>readValue(parser,
+                            mapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class)));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT)
+            throw new IllegalArgumentException("unexpected token " + token);
+    }
+}
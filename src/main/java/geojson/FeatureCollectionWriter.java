@@ -0,0 +1,149 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vividsolutions.jts.geom.Envelope;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes a FeatureCollection feature by feature, so the features never have to be held in memory together.
+ * <p>
+ * Collection members (id, crs, bbox, properties) have to be set before the first feature is written.
+ * <pre>
+ * try (FeatureCollectionWriter&lt;Feature&gt; writer = new FeatureCollectionWriter&lt;&gt;(out)) {
+ *     writer.setCrs(crs);
+ *     writer.writeAll(features);
+ * }
+ * </pre>
+ *
+ * @param <T> the Feature type that is written
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureCollectionWriter<T extends Feature> implements Closeable, Flushable {
+
+    private final ObjectWriter featureWriter;
+    private final JsonGenerator generator;
+
+    private String id;
+    private Crs crs;
+    private Envelope bbox;
+    private Map<String, Object> properties = new HashMap<>();
+
+    private boolean started;
+    private boolean closed;
+
+    public FeatureCollectionWriter(OutputStream out) throws IOException {
+        this(Mapper.get(), Mapper.get().getFactory().createGenerator(out, JsonEncoding.UTF8));
+    }
+
+    /**
+     * @param generator generator the collection is written to, closed together with this writer
+     */
+    public FeatureCollectionWriter(ObjectMapper mapper, JsonGenerator generator) {
+        // the generator flushes by itself when its buffer is full, so flushing after every feature is not needed
+        this.featureWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = generator;
+    }
+
+    public void setId(String id) {
+        checkNotStarted();
+        this.id = id;
+    }
+
+    public void setCrs(Crs crs) {
+        checkNotStarted();
+        this.crs = crs;
+    }
+
+    /**
+     * The bbox is written as given, it is not computed from the written features.
+     */
+    public void setBbox(Envelope bbox) {
+        checkNotStarted();
+        this.bbox = bbox;
+    }
+
+    public void set(String key, Object value) {
+        checkNotStarted();
+        properties.put(key, value);
+    }
+
+    public FeatureCollectionWriter<T> write(T feature) throws IOException {
+        if (closed)
+            throw new IllegalStateException("writer already closed");
+        start();
+        featureWriter.writeValue(generator, feature);
+        return this;
+    }
+
+    public FeatureCollectionWriter<T> writeAll(Iterator<? extends T> features) throws IOException {
+        IOConsumer.forEach(features, this::write);
+        return this;
+    }
+
+    public FeatureCollectionWriter<T> writeAll(Iterable<? extends T> features) throws IOException {
+        return writeAll(features.iterator());
+    }
+
+    public FeatureCollectionWriter<T> writeAll(Stream<? extends T> features) throws IOException {
+        IOConsumer.forEachOrdered(features, this::write);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Ends the features array and the collection object and closes the generator.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        start();
+        closed = true;
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void start() throws IOException {
+        if (started)
+            return;
+        started = true;
+
+        generator.writeStartObject();
+        generator.writeStringField("type", "FeatureCollection");
+        if (id != null)
+            generator.writeStringField("id", id);
+        if (crs != null) {
+            generator.writeFieldName("crs");
+            featureWriter.writeValue(generator, crs);
+        }
+        if (bbox != null) {
+            generator.writeFieldName("bbox");
+            featureWriter.writeValue(generator, bbox);
+        }
+        generator.writeFieldName("properties");
+        featureWriter.writeValue(generator, properties);
+        generator.writeArrayFieldStart("features");
+    }
+
+    private void checkNotStarted() {
+        if (started)
+            throw new IllegalStateException("collection members must be set before the first feature is written");
+    }
+}
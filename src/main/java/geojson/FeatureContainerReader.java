@@ -0,0 +1,174 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Random access to the features of a container written by {@link FeatureContainerWriter}. Opening reads the header,
+ * the spatial index and the record offsets, features are read on demand by position or bounding box. Reads use
+ * positional file access, a reader can be shared by threads.
+ * <pre>
+ * try (FeatureContainerReader&lt;Feature&gt; reader = FeatureContainerReader.open(path, Feature.class)) {
+ *     List&lt;Feature&gt; visible = reader.query(viewport);
+ * }
+ * </pre>
+ *
+ * @param <T> the Feature type the features are bound to
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureContainerReader<T extends Feature> implements Closeable {
+
+    private final FileChannel channel;
+    private final ObjectReader featureReader;
+    private final GeometryFactory factory;
+    private final WkbGeometryCodec codec = new WkbGeometryCodec();
+
+    private final String id;
+    private final Crs crs;
+    private final Envelope bbox;
+    private final Map<String, Object> properties;
+
+    private final PackedRTree index;
+    private final long[] offsets;
+    private final long recordsPosition;
+
+    private FeatureContainerReader(ObjectMapper mapper, FileChannel channel, Class<T> featureType)
+            throws IOException {
+        this.channel = channel;
+        // with compact properties the features share one key dictionary
+        this.featureReader = mapper.readerFor(featureType)
+                .withAttribute(GeoJsonObjDeserializer.PROPERTY_KEYS_ATTRIBUTE, new PropertyKeys());
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        if (in.readInt() != FeatureContainerWriter.MAGIC)
+            throw new IllegalArgumentException("not a feature container");
+        int version = in.readInt();
+        if (version != FeatureContainerWriter.VERSION)
+            throw new IllegalArgumentException("unsupported feature container version " + version);
+
+        byte[] headerJson = new byte[in.readInt()];
+        in.readFully(headerJson);
+        JsonNode header = mapper.readTree(headerJson);
+        this.id = header.hasNonNull("id") ? header.get("id").asText() : null;
+        this.crs = header.hasNonNull("crs") ? mapper.treeToValue(header.get("crs"), Crs.class) : null;
+        this.bbox = header.hasNonNull("bbox") ? mapper.treeToValue(header.get("bbox"), Envelope.class) : null;
+        this.properties = header.hasNonNull("properties")
+                ? mapper.<Map<String, Object>>convertValue(header.get("properties"),
+                mapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class))
+                : new HashMap<String, Object>();
+        int count = header.get("count").asInt();
+
+        this.index = PackedRTree.read(in);
+        this.offsets = new long[count + 1];
+        for (int i = 0; i <= count; i++)
+            offsets[i] = in.readLong();
+        this.recordsPosition = 3L * 4 + headerJson.length + PackedRTree.serializedSize(count, index.nodeSize())
+                + 8L * offsets.length;
+
+        int srid = crs != null && crs.getSrid() != 0 ? crs.getSrid() : GeoUtil.WGS84_SRID;
+        this.factory = GeoUtil.getGeometryFactory(srid);
+    }
+
+    public static <T extends Feature> FeatureContainerReader<T> open(Path path, Class<T> featureType)
+            throws IOException {
+        return open(Mapper.get(), path, featureType);
+    }
+
+    public static <T extends Feature> FeatureContainerReader<T> open(ObjectMapper mapper, Path path,
+                                                                     Class<T> featureType) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new FeatureContainerReader<>(mapper, channel, featureType);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Crs getCrs() {
+        return crs;
+    }
+
+    public Envelope getBbox() {
+        return bbox;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param i position of the feature in the written collection
+     */
+    public T get(int i) throws IOException {
+        if (i < 0 || i >= size())
+            throw new IndexOutOfBoundsException("feature " + i + " of " + size());
+
+        long length = offsets[i + 1] - offsets[i];
+        ByteBuffer record = ByteBuffer.allocate((int) length);
+        long position = recordsPosition + offsets[i];
+        while (record.hasRemaining()) {
+            int n = channel.read(record, position + record.position());
+            if (n < 0)
+                throw new IOException("unexpected end of feature container");
+        }
+        record.flip();
+
+        int jsonLength = record.getInt();
+        T feature = featureReader.readValue(record.array(), record.position(), jsonLength);
+        record.position(record.position() + jsonLength);
+        int geometryLength = record.getInt();
+        if (geometryLength > 0)
+            feature.setGeometry(codec.decode(Arrays.copyOfRange(record.array(), record.position(),
+                    record.position() + geometryLength), factory));
+        return feature;
+    }
+
+    /**
+     * @return the features whose bounding box intersects the envelope, in the order they were written
+     */
+    public List<T> query(Envelope envelope) throws IOException {
+        if (envelope.isNull())
+            return new ArrayList<>();
+
+        int[] indices = index.search(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(),
+                envelope.getMaxY());
+        // reading in file order
+        Arrays.sort(indices);
+        List<T> features = new ArrayList<>(indices.length);
+        for (int i : indices)
+            features.add(get(i));
+        return features;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,118 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vividsolutions.jts.geom.Envelope;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a FeatureCollection to a binary container that {@link FeatureContainerReader} can query without loading
+ * the whole file. The layout (big-endian) is
+ * <pre>
+ * int     magic "GJFC", int version
+ * int     header length, header: JSON object with id, crs, bbox, properties and count of the collection
+ * index   {@link PackedRTree} of the feature bounding boxes
+ * long[]  count + 1 offsets of the feature records, relative to the first record
+ * records int length + JSON object with id and properties, int length + WKB geometry (length 0 without geometry)
+ * </pre>
+ * Feature members other than id, geometry and properties are not stored, the geometries share the crs of the
+ * collection.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureContainerWriter {
+
+    static final int MAGIC = 0x474a4643;
+    static final int VERSION = 1;
+
+    private FeatureContainerWriter() {
+    }
+
+    public static void write(FeatureCollection<? extends Feature> collection, Path path) throws IOException {
+        write(Mapper.get(), collection, path);
+    }
+
+    public static void write(ObjectMapper mapper, FeatureCollection<? extends Feature> collection, Path path)
+            throws IOException {
+        List<? extends Feature> features = collection.getFeatures();
+        int count = features.size();
+
+        double[] boxes = new double[4 * count];
+        for (int i = 0; i < count; i++) {
+            Feature feature = features.get(i);
+            Envelope bbox = feature.getGeometry() != null ? feature.getBbox() : null;
+            if (bbox == null || bbox.isNull()) {
+                // an inverted box never intersects a query
+                boxes[4 * i] = boxes[4 * i + 1] = Double.POSITIVE_INFINITY;
+                boxes[4 * i + 2] = boxes[4 * i + 3] = Double.NEGATIVE_INFINITY;
+            } else {
+                boxes[4 * i] = bbox.getMinX();
+                boxes[4 * i + 1] = bbox.getMinY();
+                boxes[4 * i + 2] = bbox.getMaxX();
+                boxes[4 * i + 3] = bbox.getMaxY();
+            }
+        }
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("id", collection.getId());
+        header.put("crs", collection.getCrs());
+        header.put("bbox", collection.getBbox());
+        header.put("properties", collection.getProperties());
+        header.put("count", count);
+        byte[] headerJson = mapper.writeValueAsBytes(header);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(headerJson.length);
+            out.write(headerJson);
+            new PackedRTree(boxes).write(out);
+
+            // the offsets are known after the records are written
+            out.flush();
+            long offsetsPosition = channel.position();
+            long[] offsets = new long[count + 1];
+            for (int i = 0; i <= count; i++)
+                out.writeLong(0);
+
+            WkbGeometryCodec codec = new WkbGeometryCodec();
+            Map<String, Object> members = new LinkedHashMap<>();
+            long offset = 0;
+            for (int i = 0; i < count; i++) {
+                Feature feature = features.get(i);
+                members.put("id", feature.getId());
+                members.put("properties", feature.getProperties());
+                byte[] json = mapper.writeValueAsBytes(members);
+                byte[] geometry = feature.getGeometry() != null ? codec.encode(feature.getGeometry()) : new byte[0];
+
+                out.writeInt(json.length);
+                out.write(json);
+                out.writeInt(geometry.length);
+                out.write(geometry);
+
+                offsets[i] = offset;
+                offset += 8 + json.length + geometry.length;
+            }
+            offsets[count] = offset;
+            out.flush();
+
+            ByteBuffer buffer = ByteBuffer.allocate(8 * offsets.length);
+            buffer.asLongBuffer().put(offsets);
+            long position = offsetsPosition;
+            while (buffer.hasRemaining())
+                position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable spatial index over the bounding boxes of features, backed by a {@link PackedRTree}. The index is
+ * built once in O(n log n) and can be queried concurrently. Features without geometry are not indexed, the others
+ * must share one SRID.
+ * <p>
+ * Distances are great-circle meters from a WGS84 point to the bounding box of a feature, so they equal the
+ * distance to the geometry for point features and are a lower bound for all others. Distance queries require
+ * WGS84 geometries.
+ *
+ * @param <T> the Feature type
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureIndex<T extends Feature> {
+
+    private final List<T> features;
+    private final PackedRTree tree;
+    private final int srid;
+
+    public FeatureIndex(FeatureCollection<T> collection) {
+        this(collection.getFeatures());
+    }
+
+    public FeatureIndex(Iterable<T> features) {
+        this(features, PackedRTree.DEFAULT_NODE_SIZE);
+    }
+
+    public FeatureIndex(Iterable<T> features, int nodeSize) {
+        List<T> indexed = new ArrayList<>();
+        double[] boxes = new double[64];
+        int srid = GeoUtil.WGS84_SRID;
+        for (T feature : features) {
+            Envelope bbox = feature.getGeometry() != null ? feature.getBbox() : null;
+            if (bbox == null || bbox.isNull())
+                continue;
+
+            int featureSrid = feature.getGeometry().getSRID();
+            if (indexed.isEmpty())
+                srid = featureSrid;
+            else if (featureSrid != srid)
+                throw new IllegalArgumentException("all features must have the same SRID, expected " + srid
+                        + " but was " + featureSrid);
+            if (4 * indexed.size() + 4 > boxes.length)
+                boxes = Arrays.copyOf(boxes, boxes.length * 2);
+            int b = 4 * indexed.size();
+            boxes[b] = bbox.getMinX();
+            boxes[b + 1] = bbox.getMinY();
+            boxes[b + 2] = bbox.getMaxX();
+            boxes[b + 3] = bbox.getMaxY();
+            indexed.add(feature);
+        }
+        this.features = Collections.unmodifiableList(indexed);
+        this.tree = new PackedRTree(Arrays.copyOf(boxes, 4 * indexed.size()), nodeSize);
+        this.srid = srid;
+    }
+
+    /**
+     * @return the indexed features
+     */
+    public List<T> getFeatures() {
+        return features;
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    /**
+     * @return features whose bounding box intersects the envelope, in no particular order
+     */
+    public List<T> query(Envelope envelope) {
+        if (envelope.isNull())
+            return new ArrayList<>();
+        return toFeatures(tree.search(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(),
+                envelope.getMaxY()));
+    }
+
+    /**
+     * @return the k features nearest to the point, ordered by distance
+     */
+    public List<T> nearest(Point point, int k) {
+        return neighbors(point, k, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @return features within the distance in meters of the point, ordered by distance
+     */
+    public List<T> withinDistance(Point point, double meters) {
+        return neighbors(point, Integer.MAX_VALUE, meters);
+    }
+
+    private List<T> neighbors(Point point, int k, double meters) {
+        if (srid != GeoUtil.WGS84_SRID)
+            throw new IllegalStateException("distance queries require WGS84 features, index SRID is " + srid);
+        Point p = GeoUtil.asWgs84(point);
+        return toFeatures(tree.neighbors(p.getX(), p.getY(), k, meters, new GeodesicBoxDistance(p.getY()),
+                GEODESIC_BOX));
+    }
+
+    private List<T> toFeatures(int[] indices) {
+        List<T> result = new ArrayList<>(indices.length);
+        for (int index : indices)
+            result.add(features.get(index));
+        return result;
+    }
+
+    /**
+     * Great-circle distance to the closest point of a lon/lat box. Outside of the longitude range of the box the
+     * closest point lies on the nearer meridian edge, at the latitude closest to the position along that meridian.
+     */
+    private static final PackedRTree.BoxDistance GEODESIC_BOX = new PackedRTree.BoxDistance() {
+        @Override
+        public double distance(double lon, double lat, double minX, double minY, double maxX, double maxY) {
+            if (lon >= minX && lon <= maxX) {
+                double dLat = lat < minY ? minY - lat : lat > maxY ? lat - maxY : 0;
+                return Math.toRadians(dLat) * GeoUtil.EarthRadius;
+            }
+            double edge = lonDifference(lon, minX) <= lonDifference(lon, maxX) ? minX : maxX;
+
+            // cos(distance) along the meridian is sin(lat) sin(phi) + cos(lat) cos(phi) cos(dLon), maximal at phi
+            double phi = Math.toDegrees(Math.atan2(Math.sin(Math.toRadians(lat)),
+                    Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(lon - edge))));
+            double distance = Math.min(GeoUtil.haversineDistance(lon, lat, edge, minY),
+                    GeoUtil.haversineDistance(lon, lat, edge, maxY));
+            if (phi > minY && phi < maxY)
+                distance = Math.min(distance, GeoUtil.haversineDistance(lon, lat, edge, phi));
+            return distance;
+        }
+    };
+
+    private static double lonDifference(double lon1, double lon2) {
+        double d = Math.abs(lon1 - lon2) % 360;
+        return d > 180 ? 360 - d : d;
+    }
+
+    /**
+     * Lower bound of the great-circle distance to a lon/lat box: the haversine formula with the smallest latitude
+     * and longitude differences to the box and the cosine of the box latitude farthest from the equator.
+     * Exact for boxes of zero size.
+     */
+    private static final class GeodesicBoxDistance implements PackedRTree.BoxDistance {
+
+        private final double cosLat;
+
+        GeodesicBoxDistance(double lat) {
+            this.cosLat = Math.cos(Math.toRadians(lat));
+        }
+
+        @Override
+        public double distance(double lon, double lat, double minX, double minY, double maxX, double maxY) {
+            double dLat = lat < minY ? minY - lat : lat > maxY ? lat - maxY : 0;
+            double dLon = lon >= minX && lon <= maxX ? 0
+                    : Math.min(lonDifference(lon, minX), lonDifference(lon, maxX));
+            double cosBoxLat = Math.cos(Math.toRadians(Math.min(90, Math.max(Math.abs(minY), Math.abs(maxY)))));
+
+            double sinDLat = Math.sin(Math.toRadians(dLat) / 2);
+            double sinDLon = Math.sin(Math.toRadians(dLon) / 2);
+            double a = sinDLat * sinDLat + cosLat * cosBoxLat * sinDLon * sinDLon;
+            return 2 * GeoUtil.EarthRadius * Math.asin(Math.min(1, Math.sqrt(a)));
+        }
+    }
+}
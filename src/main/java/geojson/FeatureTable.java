@@ -0,0 +1,670 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Column oriented copy of a feature collection for scans and aggregations over properties. Each row is a feature:
+ * ids, bboxes and WKB encoded geometries are stored in arrays, each property key in a typed column:
+ * <ul>
+ * <li>{@link LongColumn} for Integer and Long values</li>
+ * <li>{@link DoubleColumn} for Double and Float values, or a mix of them and integers</li>
+ * <li>{@link StringColumn} for strings, dictionary encoded</li>
+ * <li>{@link ObjectColumn} for other or mixed values</li>
+ * </ul>
+ * A missing property and a null value are both null in the column. Rows are selected by BitSets, e.g.
+ * <pre>
+ * BitSet rows = table.intersecting(envelope);
+ * rows.and(table.getStringColumn("type").filter("city"::equals));
+ * double population = table.getDoubleColumn("population").sum(rows);
+ * </pre>
+ * The column streams can be run in parallel. Tables are immutable and thread safe.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FeatureTable {
+
+    private static final GeometryCodec GEOMETRY_CODEC = new WkbGeometryCodec();
+
+    private final int size;
+    private final String[] ids;
+    // minX, minY, maxX, maxY per row, NaN if the row has no bbox
+    private final double[] bboxes;
+    // WKB of the geometry of row i in geometryBytes[geometryOffsets[i], geometryOffsets[i + 1])
+    private final byte[] geometryBytes;
+    private final int[] geometryOffsets;
+    private final int[] srids;
+    private final Map<String, Column> columns;
+
+    private FeatureTable(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        bboxes = Arrays.copyOf(builder.bboxes, 4 * size);
+        geometryBytes = Arrays.copyOf(builder.geometryBytes, builder.geometryOffsets[size]);
+        geometryOffsets = Arrays.copyOf(builder.geometryOffsets, size + 1);
+        srids = Arrays.copyOf(builder.srids, size);
+
+        Map<String, Column> columns = new LinkedHashMap<>();
+        for (Map.Entry<String, ColumnBuilder> entry : builder.columns.entrySet())
+            columns.put(entry.getKey(), entry.getValue().build(size));
+        this.columns = Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * @param features features, e.g. a FeatureCollection or a {@link FeatureCollectionReader} to build the table
+     *                 without keeping the features
+     */
+    public static FeatureTable of(Iterable<? extends Feature> features) {
+        return new Builder().addAll(features).build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @return bbox of the feature, null if it had none
+     */
+    public Envelope getBbox(int row) {
+        int i = 4 * row;
+        if (Double.isNaN(bboxes[i]))
+            return null;
+        return new Envelope(bboxes[i], bboxes[i + 2], bboxes[i + 1], bboxes[i + 3]);
+    }
+
+    /**
+     * @return the geometry decoded with the factory of its SRID, null if the feature had none
+     */
+    public Geometry getGeometry(int row) {
+        int from = geometryOffsets[row];
+        int to = geometryOffsets[row + 1];
+        if (from == to)
+            return null;
+        return GEOMETRY_CODEC.decode(Arrays.copyOfRange(geometryBytes, from, to),
+                GeoUtil.getGeometryFactory(srids[row]));
+    }
+
+    /**
+     * @return a new Feature with the id, geometry and non-null properties of the row
+     */
+    public Feature getFeature(int row) {
+        Feature feature = new Feature();
+        feature.setId(ids[row]);
+        feature.setGeometry(getGeometry(row));
+        feature.setBbox(getBbox(row));
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            if (!entry.getValue().isNull(row))
+                feature.set(entry.getKey(), entry.getValue().getValue(row));
+        }
+        return feature;
+    }
+
+    /**
+     * @return keys of the property columns in the order they were first seen
+     */
+    public Set<String> getColumnNames() {
+        return columns.keySet();
+    }
+
+    /**
+     * @return the column of the property key, null if no feature had a non-null value for it
+     */
+    public Column getColumn(String key) {
+        return columns.get(key);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the column is missing or not a LongColumn
+     */
+    public LongColumn getLongColumn(String key) {
+        return column(key, LongColumn.class);
+    }
+
+    /**
+     * Integer columns are converted to a DoubleColumn for the call.
+     *
+     * @throws IllegalArgumentException if the column is missing or not numeric
+     */
+    public DoubleColumn getDoubleColumn(String key) {
+        Column column = columns.get(key);
+        if (column instanceof LongColumn)
+            return ((LongColumn) column).toDoubleColumn();
+        return column(key, DoubleColumn.class);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the column is missing or not a StringColumn
+     */
+    public StringColumn getStringColumn(String key) {
+        return column(key, StringColumn.class);
+    }
+
+    private <C extends Column> C column(String key, Class<C> type) {
+        Column column = columns.get(key);
+        if (!type.isInstance(column))
+            throw new IllegalArgumentException("no " + type.getSimpleName() + " " + key + ": " + column);
+        return type.cast(column);
+    }
+
+    /**
+     * @return all rows
+     */
+    public BitSet all() {
+        BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        return rows;
+    }
+
+    /**
+     * @return rows with a bbox intersecting the envelope
+     */
+    public BitSet intersecting(Envelope envelope) {
+        BitSet rows = new BitSet(size);
+        if (envelope.isNull())
+            return rows;
+        double minX = envelope.getMinX(), minY = envelope.getMinY();
+        double maxX = envelope.getMaxX(), maxY = envelope.getMaxY();
+        for (int row = 0, i = 0; row < size; row++, i += 4) {
+            // NaN of rows without bbox fails all comparisons
+            if (bboxes[i] <= maxX && bboxes[i + 1] <= maxY && bboxes[i + 2] >= minX && bboxes[i + 3] >= minY)
+                rows.set(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Column of one property key, with a value or null for each row of the table.
+     */
+    public abstract static class Column {
+
+        protected final int size;
+        protected final BitSet present;
+
+        Column(int size, BitSet present) {
+            this.size = size;
+            this.present = present;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isNull(int row) {
+            return !present.get(row);
+        }
+
+        /**
+         * @return rows with a non-null value
+         */
+        public BitSet nonNull() {
+            return (BitSet) present.clone();
+        }
+
+        /**
+         * @return the value, boxed, or null
+         */
+        public abstract Object getValue(int row);
+
+        /**
+         * @param rows selected rows, null for all
+         * @return stream of the selected rows with a non-null value
+         */
+        protected IntStream rows(final BitSet rows) {
+            return IntStream.range(0, size).filter(row -> present.get(row) && (rows == null || rows.get(row)));
+        }
+    }
+
+    /**
+     * Integer and Long values, read back as long (boxed as Long)
+     */
+    public static final class LongColumn extends Column {
+
+        private final long[] values;
+
+        LongColumn(long[] values, BitSet present) {
+            super(values.length, present);
+            this.values = values;
+        }
+
+        /**
+         * @return the value or 0 for null
+         */
+        public long get(int row) {
+            return values[row];
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        /**
+         * @return non-null rows matching the predicate
+         */
+        public BitSet filter(LongPredicate predicate) {
+            BitSet rows = new BitSet(size);
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                if (predicate.test(values[row]))
+                    rows.set(row);
+            }
+            return rows;
+        }
+
+        /**
+         * @param rows selected rows, null for all
+         * @return sum of the non-null values of the rows
+         */
+        public long sum(BitSet rows) {
+            long sum = 0;
+            BitSet selected = select(present, rows);
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1))
+                sum += values[row];
+            return sum;
+        }
+
+        /**
+         * @param rows selected rows, null for all
+         * @return the non-null values of the rows, may be parallel
+         */
+        public LongStream stream(BitSet rows) {
+            return rows(rows).mapToLong(row -> values[row]);
+        }
+
+        DoubleColumn toDoubleColumn() {
+            double[] doubles = new double[size];
+            for (int row = 0; row < size; row++)
+                doubles[row] = values[row];
+            return new DoubleColumn(doubles, present);
+        }
+    }
+
+    /**
+     * Double and Float values, or integers in a column that also has floating point values, read back as double
+     */
+    public static final class DoubleColumn extends Column {
+
+        private final double[] values;
+
+        DoubleColumn(double[] values, BitSet present) {
+            super(values.length, present);
+            this.values = values;
+        }
+
+        /**
+         * @return the value or NaN for null
+         */
+        public double get(int row) {
+            return isNull(row) ? Double.NaN : values[row];
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        /**
+         * @return non-null rows matching the predicate
+         */
+        public BitSet filter(DoublePredicate predicate) {
+            BitSet rows = new BitSet(size);
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                if (predicate.test(values[row]))
+                    rows.set(row);
+            }
+            return rows;
+        }
+
+        /**
+         * @param rows selected rows, null for all
+         * @return sum of the non-null values of the rows
+         */
+        public double sum(BitSet rows) {
+            double sum = 0;
+            BitSet selected = select(present, rows);
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1))
+                sum += values[row];
+            return sum;
+        }
+
+        /**
+         * @param rows selected rows, null for all
+         * @return the non-null values of the rows, may be parallel
+         */
+        public DoubleStream stream(BitSet rows) {
+            return rows(rows).mapToDouble(row -> values[row]);
+        }
+    }
+
+    /**
+     * Strings as int codes into a dictionary of the distinct values, predicates are evaluated once per distinct
+     * value.
+     */
+    public static final class StringColumn extends Column {
+
+        private final int[] codes;
+        private final String[] dictionary;
+
+        StringColumn(int[] codes, String[] dictionary, BitSet present) {
+            super(codes.length, present);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        public String get(int row) {
+            return isNull(row) ? null : dictionary[codes[row]];
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return get(row);
+        }
+
+        /**
+         * @return the code of the value, -1 for null
+         */
+        public int getCode(int row) {
+            return isNull(row) ? -1 : codes[row];
+        }
+
+        /**
+         * @return the distinct values indexed by their codes
+         */
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(Arrays.asList(dictionary));
+        }
+
+        /**
+         * @return non-null rows with a value matching the predicate
+         */
+        public BitSet filter(Predicate<String> predicate) {
+            boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++)
+                matches[code] = predicate.test(dictionary[code]);
+
+            BitSet rows = new BitSet(size);
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                if (matches[codes[row]])
+                    rows.set(row);
+            }
+            return rows;
+        }
+
+        /**
+         * @param values values summed per distinct string, e.g. population by country
+         * @param rows   selected rows, null for all
+         * @return sums of the non-null values of the rows by the non-null strings of this column
+         */
+        public Map<String, Double> sumBy(DoubleColumn values, BitSet rows) {
+            double[] sums = new double[dictionary.length];
+            boolean[] seen = new boolean[dictionary.length];
+            BitSet selected = select(select(present, values.present), rows);
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+                sums[codes[row]] += values.values[row];
+                seen[codes[row]] = true;
+            }
+
+            Map<String, Double> result = new LinkedHashMap<>();
+            for (int code = 0; code < dictionary.length; code++) {
+                if (seen[code])
+                    result.put(dictionary[code], sums[code]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Values of other types (lists, maps, booleans) or of mixed types
+     */
+    public static final class ObjectColumn extends Column {
+
+        private final Object[] values;
+
+        ObjectColumn(Object[] values, BitSet present) {
+            super(values.length, present);
+            this.values = values;
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return values[row];
+        }
+    }
+
+    private static BitSet select(BitSet present, BitSet rows) {
+        if (rows == null)
+            return present;
+        BitSet selected = (BitSet) present.clone();
+        selected.and(rows);
+        return selected;
+    }
+
+    /**
+     * Appends features row by row. Column types are widened as values arrive, so the features need not be kept.
+     */
+    public static class Builder {
+
+        private int size;
+        private String[] ids = new String[16];
+        private double[] bboxes = new double[4 * 16];
+        private byte[] geometryBytes = new byte[1 << 10];
+        private int[] geometryOffsets = new int[16 + 1];
+        private int[] srids = new int[16];
+        private final Map<String, ColumnBuilder> columns = new LinkedHashMap<>();
+
+        public Builder add(Feature feature) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                bboxes = Arrays.copyOf(bboxes, 4 * capacity);
+                geometryOffsets = Arrays.copyOf(geometryOffsets, capacity + 1);
+                srids = Arrays.copyOf(srids, capacity);
+            }
+            int row = size++;
+            ids[row] = feature.getId();
+
+            Envelope bbox = feature.getBbox();
+            if (bbox == null || bbox.isNull()) {
+                Arrays.fill(bboxes, 4 * row, 4 * row + 4, Double.NaN);
+            } else {
+                bboxes[4 * row] = bbox.getMinX();
+                bboxes[4 * row + 1] = bbox.getMinY();
+                bboxes[4 * row + 2] = bbox.getMaxX();
+                bboxes[4 * row + 3] = bbox.getMaxY();
+            }
+
+            Geometry geometry = feature.getGeometry();
+            int offset = geometryOffsets[row];
+            if (geometry != null) {
+                byte[] wkb = GEOMETRY_CODEC.encode(geometry);
+                if (offset + wkb.length > geometryBytes.length)
+                    geometryBytes = Arrays.copyOf(geometryBytes, Math.max(2 * geometryBytes.length,
+                            offset + wkb.length));
+                System.arraycopy(wkb, 0, geometryBytes, offset, wkb.length);
+                offset += wkb.length;
+                srids[row] = geometry.getSRID();
+            }
+            geometryOffsets[row + 1] = offset;
+
+            for (Map.Entry<String, Object> property : feature.getProperties().entrySet()) {
+                if (property.getValue() == null)
+                    continue;
+                ColumnBuilder column = columns.get(property.getKey());
+                if (column == null) {
+                    column = new ColumnBuilder();
+                    columns.put(property.getKey(), column);
+                }
+                column.add(row, property.getValue());
+            }
+            return this;
+        }
+
+        public Builder addAll(Iterable<? extends Feature> features) {
+            for (Feature feature : features)
+                add(feature);
+            return this;
+        }
+
+        public FeatureTable build() {
+            return new FeatureTable(this);
+        }
+    }
+
+    private static final class ColumnBuilder {
+
+        private static final byte LONG = 1;
+        private static final byte DOUBLE = 2;
+        private static final byte STRING = 3;
+        private static final byte OBJECT = 4;
+
+        private byte type;
+        private final BitSet present = new BitSet();
+        private long[] longs;
+        private double[] doubles;
+        private int[] codes;
+        private Map<String, Integer> codesByValue;
+        private List<String> dictionary;
+        private Object[] objects;
+
+        private static byte typeOf(Object value) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+                return LONG;
+            if (value instanceof Double || value instanceof Float)
+                return DOUBLE;
+            if (value instanceof String)
+                return STRING;
+            return OBJECT;
+        }
+
+        void add(int row, Object value) {
+            byte valueType = typeOf(value);
+            if (type == 0)
+                init(valueType);
+            else if (type != valueType && type != OBJECT && !(type == DOUBLE && valueType == LONG))
+                widen(type == LONG && valueType == DOUBLE ? DOUBLE : OBJECT);
+
+            switch (type) {
+                case LONG:
+                    longs = ensure(longs, row);
+                    longs[row] = ((Number) value).longValue();
+                    break;
+                case DOUBLE:
+                    doubles = ensure(doubles, row);
+                    doubles[row] = ((Number) value).doubleValue();
+                    break;
+                case STRING:
+                    Integer code = codesByValue.get(value);
+                    if (code == null) {
+                        code = dictionary.size();
+                        codesByValue.put((String) value, code);
+                        dictionary.add((String) value);
+                    }
+                    codes = ensure(codes, row);
+                    codes[row] = code;
+                    break;
+                default:
+                    objects = ensure(objects, row);
+                    objects[row] = value;
+            }
+            present.set(row);
+        }
+
+        private void init(byte type) {
+            this.type = type;
+            if (type == STRING) {
+                codesByValue = new HashMap<>();
+                dictionary = new ArrayList<>();
+            }
+        }
+
+        private void widen(byte type) {
+            int length = present.length();
+            if (type == DOUBLE) {
+                doubles = new double[Math.max(16, length)];
+                for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1))
+                    doubles[row] = longs[row];
+                longs = null;
+            } else {
+                objects = new Object[Math.max(16, length)];
+                for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1))
+                    objects[row] = value(row);
+                longs = null;
+                doubles = null;
+                codes = null;
+                codesByValue = null;
+                dictionary = null;
+            }
+            this.type = type;
+        }
+
+        private Object value(int row) {
+            switch (type) {
+                case LONG:
+                    return longs[row];
+                case DOUBLE:
+                    return doubles[row];
+                case STRING:
+                    return dictionary.get(codes[row]);
+                default:
+                    return objects[row];
+            }
+        }
+
+        Column build(int size) {
+            // the builder may go on adding rows, the column gets its own copy
+            BitSet rows = present.get(0, size);
+            switch (type) {
+                case LONG:
+                    return new LongColumn(Arrays.copyOf(longs, size), rows);
+                case DOUBLE:
+                    return new DoubleColumn(Arrays.copyOf(doubles, size), rows);
+                case STRING:
+                    return new StringColumn(Arrays.copyOf(codes, size), dictionary.toArray(new String[0]), rows);
+                default:
+                    return new ObjectColumn(Arrays.copyOf(objects, size), rows);
+            }
+        }
+
+        private static long[] ensure(long[] array, int row) {
+            if (array == null)
+                return new long[Math.max(16, row + 1)];
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, row + 1));
+        }
+
+        private static double[] ensure(double[] array, int row) {
+            if (array == null)
+                return new double[Math.max(16, row + 1)];
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, row + 1));
+        }
+
+        private static int[] ensure(int[] array, int row) {
+            if (array == null)
+                return new int[Math.max(16, row + 1)];
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, row + 1));
+        }
+
+        private static Object[] ensure(Object[] array, int row) {
+            if (array == null)
+                return new Object[Math.max(16, row + 1)];
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, row + 1));
+        }
+    }
+}
@@ -1,18 +1,130 @@
 package geojson;
 
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.module.SimpleDeserializers;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.module.SimpleSerializers;
 import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequenceFactory;
 import com.vividsolutions.jts.geom.Envelope;
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequenceFactory;
 
 @SuppressWarnings("WeakerAccess")
 public class GeoJacksonModule extends SimpleModule {
 
+    private final CoordinatePrecision precision;
+    private int defaultSrid = GeoUtil.WGS84_SRID;
+    private GeometryCodec geometryCodec;
+    private boolean lazyGeometries;
+    private CoordinateSequenceFactory coordinateSequenceFactory = CoordinateArraySequenceFactory.instance();
+    private boolean compactProperties;
+    private boolean accessorDeserializers;
+
     public GeoJacksonModule() {
+        this(new CoordinatePrecision());
+    }
+
+    /**
+     * @param precision decimal digits geometry coordinates are rounded to when serialized
+     */
+    public GeoJacksonModule(CoordinatePrecision precision) {
         super("GeoJacksonModule", new Version(1, 0, 0, "SNAPSHOT", "GROUP", "ARTIFACT"));
+        this.precision = precision;
+    }
+
+    public CoordinatePrecision getPrecision() {
+        return precision;
+    }
+
+    public int getDefaultSrid() {
+        return defaultSrid;
+    }
+
+    /**
+     * @param defaultSrid SRID of deserialized geometries that have no crs in their feature or collection,
+     *                    WGS84 by default
+     */
+    public GeoJacksonModule setDefaultSrid(int defaultSrid) {
+        this.defaultSrid = defaultSrid;
+        return this;
+    }
+
+    public GeometryCodec getGeometryCodec() {
+        return geometryCodec;
+    }
+
+    /**
+     * @param geometryCodec binary encoding of geometries, e.g. {@link WkbGeometryCodec} or
+     *                      {@link TwkbGeometryCodec}, null (default) for GeoJSON geometry objects. The
+     *                      deserializer accepts GeoJSON geometry objects in either case.
+     */
+    public GeoJacksonModule setGeometryCodec(GeometryCodec geometryCodec) {
+        this.geometryCodec = geometryCodec;
+        return this;
+    }
+
+    public boolean isLazyGeometries() {
+        return lazyGeometries;
+    }
+
+    /**
+     * @param lazyGeometries keep the GeoJSON text of feature geometries and decode it on the first
+     *                       {@link Feature#getGeometry()}, geometries that are never accessed are written back as
+     *                       they were read (ignoring the coordinate precision) unless they are written with a
+     *                       {@link GeometryCodec} or to a binary format
+     */
+    public GeoJacksonModule setLazyGeometries(boolean lazyGeometries) {
+        this.lazyGeometries = lazyGeometries;
+        return this;
+    }
+
+    public CoordinateSequenceFactory getCoordinateSequenceFactory() {
+        return coordinateSequenceFactory;
+    }
+
+    /**
+     * @param coordinateSequenceFactory factory of the coordinate sequences of deserialized geometries, by default
+     *                                  CoordinateArraySequenceFactory.instance() for sequences of Coordinate objects
+     *                                  and the shared factories of {@link GeoUtil}.
+     *                                  PackedCoordinateSequenceFactory.DOUBLE_FACTORY keeps the ordinates in one
+     *                                  double[] per sequence, getCoordinates() of its geometries returns copies
+     */
+    public GeoJacksonModule setCoordinateSequenceFactory(CoordinateSequenceFactory coordinateSequenceFactory) {
+        this.coordinateSequenceFactory = coordinateSequenceFactory;
+        return this;
+    }
+
+    public boolean isCompactProperties() {
+        return compactProperties;
+    }
+
+    /**
+     * @param compactProperties store the properties of deserialized features and collections as
+     *                          {@link CompactProperties}, the keys of the features of a collection are kept once in
+     *                          a dictionary of the collection
+     */
+    public GeoJacksonModule setCompactProperties(boolean compactProperties) {
+        this.compactProperties = compactProperties;
+        return this;
+    }
+
+    public boolean isAccessorDeserializers() {
+        return accessorDeserializers;
+    }
+
+    /**
+     * @param accessorDeserializers deserialize Feature and FeatureCollection (sub)classes by
+     *                              {@link GeoJsonObjAccessorDeserializer}s with generated accessors instead of the
+     *                              reflective bean deserializer, foreign members are written into the properties
+     */
+    public GeoJacksonModule setAccessorDeserializers(boolean accessorDeserializers) {
+        this.accessorDeserializers = accessorDeserializers;
+        return this;
     }
 
     @Override
@@ -20,16 +132,41 @@ public class GeoJacksonModule extends SimpleModule {
         SimpleSerializers serializers = new SimpleSerializers();
         SimpleDeserializers deserializers = new SimpleDeserializers();
 
-        serializers.addSerializer(Geometry.class, new GeometryJsonSerializer());
+        if (geometryCodec != null)
+            serializers.addSerializer(Geometry.class, new GeometryBinarySerializer(geometryCodec));
+        else
+            serializers.addSerializer(Geometry.class, new GeometryJsonSerializer(precision));
         serializers.addSerializer(Coordinate.class, new CoordinateJsonSerializer());
         serializers.addSerializer(Envelope.class, new EnvelopeJsonSerializer());
 
-        deserializers.addDeserializer(Geometry.class, new GeometryJsonDeserializer());
+        GeometryJsonDeserializer geometryDeserializer = new GeometryJsonDeserializer(defaultSrid, geometryCodec,
+                coordinateSequenceFactory);
+        deserializers.addDeserializer(Geometry.class, geometryDeserializer);
+        deserializers.addDeserializer(RawGeometry.class,
+                new RawGeometryJsonDeserializer(geometryDeserializer, defaultSrid, lazyGeometries));
         deserializers.addDeserializer(Coordinate.class, new CoordinateJsonDeserializer());
         deserializers.addDeserializer(Envelope.class, new EnvelopeJsonDeserializer());
+        deserializers.addDeserializer(Crs.class, new CrsJsonDeserializer());
 
         context.addSerializers(serializers);
         context.addDeserializers(deserializers);
+        context.addBeanDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                          JsonDeserializer<?> deserializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (!GeoJsonObj.class.isAssignableFrom(type))
+                    return deserializer;
+
+                if (accessorDeserializers && (Feature.class.isAssignableFrom(type)
+                        || FeatureCollection.class.isAssignableFrom(type))) {
+                    JsonDeserializer<?> accessors = GeoJsonObjAccessorDeserializer.create(config, beanDesc);
+                    if (accessors != null)
+                        deserializer = accessors;
+                }
+                return new GeoJsonObjDeserializer(deserializer, compactProperties);
+            }
+        });
     }
 
 }
@@ -0,0 +1,53 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Reads GeoJSON files through memory-mapped regions instead of a FileInputStream: there is no read system call
+ * per buffer and no user-space file read buffer, the parser copies the mapped bytes into its own input buffer.
+ * <pre>
+ * try (FeatureCollectionReader&lt;Feature&gt; reader = GeoJsonFiles.open(path)) {
+ *     for (Feature feature : reader) { ... }
+ * }
+ * </pre>
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class GeoJsonFiles {
+
+    private GeoJsonFiles() {
+    }
+
+    /**
+     * @return streaming reader of the features of the FeatureCollection in the file
+     */
+    public static FeatureCollectionReader<Feature> open(Path path) throws IOException {
+        return open(path, Feature.class);
+    }
+
+    public static <T extends Feature> FeatureCollectionReader<T> open(Path path, Class<T> featureType)
+            throws IOException {
+        return open(Mapper.get(), path, featureType);
+    }
+
+    public static <T extends Feature> FeatureCollectionReader<T> open(ObjectMapper mapper, Path path,
+                                                                      Class<T> featureType) throws IOException {
+        InputStream in = newInputStream(path);
+        try {
+            return new FeatureCollectionReader<>(mapper, mapper.getFactory().createParser(in), featureType);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return stream over the memory-mapped file, files larger than 2 GB are mapped in multiple regions
+     */
+    public static InputStream newInputStream(Path path) throws IOException {
+        return new MappedInputStream(path);
+    }
+}
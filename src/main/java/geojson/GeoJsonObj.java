@@ -18,6 +18,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 @JsonTypeInfo(property = "type", use = Id.NAME)
@@ -30,7 +32,13 @@ public class GeoJsonObj implements Serializable {
     private Envelope bbox;
 
     @JsonSerialize(include = Inclusion.NON_NULL)
-    private HashMap<String, Object> properties = new HashMap<>();
+    private Map<String, Object> properties = new HashMap<>();
+
+    // typed values of get(key, type) and getAsList by property key, null until the first conversion
+    private transient volatile Map<String, Converted> converted;
+
+    private static final ConcurrentMap<Class<?>, JavaType> TYPES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, JavaType> LIST_TYPES = new ConcurrentHashMap<>();
 
     public String getId() {
         return id;
@@ -61,6 +69,9 @@ public class GeoJsonObj implements Serializable {
 
     public void set(String key, Object value) {
         properties.put(key, value);
+        Map<String, Converted> converted = this.converted;
+        if (converted != null)
+            converted.remove(key);
     }
 
     @SuppressWarnings("unchecked")
@@ -69,42 +80,132 @@ public class GeoJsonObj implements Serializable {
     }
 
     /**
-     * More robust version of get(key)
+     * More robust version of get(key). Values that are not of the type already are converted by the Mapper, the
+     * result is cached until the property is set again, so repeated calls return the same object.
      */
     public <T> T get(String key, Class<T> type) {
-        return Mapper.get().convertValue(properties.get(key), type);
+        Object value = properties.get(key);
+        if (value == null || type.isInstance(value))
+            return type.cast(value);
+        JavaType javaType = TYPES.get(type);
+        if (javaType == null) {
+            javaType = Mapper.get().getTypeFactory().constructType(type);
+            TYPES.putIfAbsent(type, javaType);
+        }
+        return convert(key, value, javaType);
     }
 
     /**
-     * More robust version of get(key)
+     * More robust version of get(key), the result is cached like by {@link #get(String, Class)}
      */
     public <T> T get(String key, TypeReference<T> typeReference) {
-        return Mapper.get().convertValue(properties.get(key), typeReference);
+        Object value = properties.get(key);
+        if (value == null)
+            return null;
+        return convert(key, value, Mapper.get().getTypeFactory().constructType(typeReference));
     }
 
     /**
-     * Property as typed list (instead of LinkedHashMap)
+     * Property as typed list (instead of LinkedHashMap). A list with elements of the type already is returned
+     * as is, otherwise the converted list is cached like by {@link #get(String, Class)}. A missing property is set
+     * to a new empty list.
      */
     public <T> List<T> getAsList(String key, Class<T> type) {
-        JavaType javaType = Mapper.get().getTypeFactory().constructCollectionType(List.class, type);
-        List<T> list = Mapper.get().convertValue(properties.get(key), javaType);
-        if (list == null) {
-            list = new ArrayList<>();
+        Object value = properties.get(key);
+        if (value == null) {
+            List<T> list = new ArrayList<>();
             set(key, list);
+            return list;
+        }
+        if (isListOf(value, type)) {
+            @SuppressWarnings("unchecked")
+            List<T> list = (List<T>) value;
+            return list;
         }
-        return list;
+
+        JavaType javaType = LIST_TYPES.get(type);
+        if (javaType == null) {
+            javaType = Mapper.get().getTypeFactory().constructCollectionType(List.class, type);
+            LIST_TYPES.putIfAbsent(type, javaType);
+        }
+        return convert(key, value, javaType);
+    }
+
+    private static boolean isListOf(Object value, Class<?> type) {
+        if (!(value instanceof List))
+            return false;
+        for (Object element : (List<?>) value) {
+            if (element != null && !type.isInstance(element))
+                return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convert(String key, Object value, JavaType type) {
+        Map<String, Converted> converted = this.converted;
+        Converted cached = converted == null ? null : converted.get(key);
+        // the source check also catches properties replaced through getProperties(), boxed numbers and booleans of
+        // CompactProperties are new objects on every get and compared by value
+        if (cached != null && isSameSource(cached.source, value) && cached.type.equals(type))
+            return (T) cached.value;
+
+        T result = Mapper.get().convertValue(value, type);
+        if (result != null) {
+            if (converted == null)
+                this.converted = converted = new ConcurrentHashMap<>();
+            converted.put(key, new Converted(value, type, result));
+        }
+        return result;
+    }
+
+    private static boolean isSameSource(Object source, Object value) {
+        return source == value || (value instanceof Number || value instanceof Boolean) && value.equals(source);
     }
 
     public Map<String, Object> getProperties() {
         return properties;
     }
 
-    @SuppressWarnings("unchecked")
     @JsonIgnore
-    public Map<String, Object> getPropertiesCopy() { return (HashMap) properties.clone(); }
+    public Map<String, Object> getPropertiesCopy() { return new HashMap<>(properties); }
 
     public void setProperties(Map<String, Object> properties) {
         this.properties.putAll(properties);
+        this.converted = null;
+    }
+
+    /**
+     * @return the dictionary of the {@link CompactProperties}, null if the properties are a HashMap
+     */
+    @JsonIgnore
+    public PropertyKeys getPropertyKeys() {
+        return properties instanceof CompactProperties ? ((CompactProperties) properties).getKeys() : null;
     }
 
+    /**
+     * Moves the properties to {@link CompactProperties} with the shared key dictionary, or back to a HashMap. Maps
+     * previously returned by {@link #getProperties()} are no longer backed by this object.
+     *
+     * @param keys the dictionary, usually shared by all features of a collection, null for a HashMap
+     */
+    @JsonIgnore
+    public void setPropertyKeys(PropertyKeys keys) {
+        if (keys == getPropertyKeys())
+            return;
+        properties = keys == null ? new HashMap<>(properties) : new CompactProperties(keys, properties);
+    }
+
+    private static final class Converted {
+
+        final Object source;
+        final JavaType type;
+        final Object value;
+
+        Converted(Object source, JavaType type, Object value) {
+            this.source = source;
+            this.type = type;
+            this.value = value;
+        }
+    }
 }
@@ -0,0 +1,318 @@
+package geojson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Deserializer of a Feature or FeatureCollection (sub)class that binds the members of the object with accessors
+ * generated once by LambdaMetafactory (MethodHandles where the class or member is not accessible) instead of
+ * Jackson's reflective bean properties. Members are found by Jackson's introspection, so annotations like
+ * JsonIgnore, JsonIgnoreProperties and JsonProperty apply as usual. Members that are neither properties nor ignored
+ * (foreign members) are written into the properties of the object, unless unknown members are ignored.
+ * <p>
+ * Classes with a JsonAnySetter, creator properties or getter-only properties keep the bean deserializer, see
+ * {@link #create}.
+ *
+ * @see GeoJacksonModule#setAccessorDeserializers(boolean)
+ */
+@SuppressWarnings("WeakerAccess")
+public class GeoJsonObjAccessorDeserializer<T extends GeoJsonObj> extends JsonDeserializer<T>
+        implements ResolvableDeserializer {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<T> type;
+    private final Supplier<T> constructor;
+    private final Map<String, Member> members;
+    private final Set<String> ignored;
+    private final boolean ignoreUnknown;
+    private JsonDeserializer<Object> foreignDeserializer;
+
+    private GeoJsonObjAccessorDeserializer(Class<T> type, Supplier<T> constructor, Map<String, Member> members,
+                                           Set<String> ignored, boolean ignoreUnknown) {
+        this.type = type;
+        this.constructor = constructor;
+        this.members = members;
+        this.ignored = ignored;
+        this.ignoreUnknown = ignoreUnknown;
+    }
+
+    /**
+     * @param config   configuration of the mapper
+     * @param beanDesc description of a GeoJsonObj class for deserialization
+     * @return the deserializer, null if the class needs the bean deserializer: it is abstract, has no default
+     * constructor, an any setter, creator properties or collections that are filled through their getter
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends GeoJsonObj> GeoJsonObjAccessorDeserializer<T> create(DeserializationConfig config,
+                                                                                  BeanDescription beanDesc) {
+        Class<T> type = (Class<T>) beanDesc.getBeanClass();
+        AnnotatedConstructor defaultConstructor = beanDesc.findDefaultConstructor();
+        if (Modifier.isAbstract(type.getModifiers()) || defaultConstructor == null
+                || beanDesc.findAnySetter() != null || beanDesc.findAnySetterField() != null)
+            return null;
+
+        // JsonIgnoreProperties of the class, unlike the member level JsonIgnore they also drop explicit properties
+        JsonIgnoreProperties.Value ignorals = config.getDefaultPropertyIgnorals(type, beanDesc.getClassInfo());
+        Set<String> classIgnored = ignorals != null ? ignorals.findIgnoredForDeserialization()
+                : Collections.<String>emptySet();
+
+        Map<String, Member> members = new HashMap<>();
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            if (classIgnored.contains(property.getName()))
+                continue;
+            JavaType memberType;
+            BiConsumer<Object, Object> setter;
+            if (property.hasSetter()) {
+                AnnotatedMethod method = property.getSetter();
+                memberType = method.getParameterType(0);
+                setter = setter(method.getAnnotated());
+            } else if (property.hasField()) {
+                AnnotatedField field = property.getField();
+                memberType = field.getType();
+                setter = setter(field.getAnnotated());
+            } else if (property.hasConstructorParameter() || isSetterlessCollection(config, property)) {
+                return null;
+            } else {
+                // read-only, like the bean deserializer
+                continue;
+            }
+            BeanProperty beanProperty = new BeanProperty.Std(property.getFullName(), memberType,
+                    property.getWrapperName(), beanDesc.getClassAnnotations(), property.getMutator(),
+                    property.getMetadata());
+            members.put(property.getName(), new Member(beanProperty, setter));
+        }
+
+        Set<String> ignored = new HashSet<>(beanDesc.getIgnoredPropertyNames());
+        ignored.addAll(classIgnored);
+        // the GeoJSON type is implied by the class
+        ignored.add("type");
+        boolean ignoreUnknown = ignorals != null && ignorals.getIgnoreUnknown();
+        return new GeoJsonObjAccessorDeserializer<>(type,
+                (Supplier<T>) constructor(defaultConstructor.getAnnotated()), members, ignored, ignoreUnknown);
+    }
+
+    /**
+     * @return true if the bean deserializer fills the Collection or Map of a getter-only property
+     */
+    private static boolean isSetterlessCollection(DeserializationConfig config, BeanPropertyDefinition property) {
+        if (!property.hasGetter() || !config.isEnabled(MapperFeature.USE_GETTERS_AS_SETTERS))
+            return false;
+        Class<?> rawType = property.getGetter().getRawType();
+        return Collection.class.isAssignableFrom(rawType) || Map.class.isAssignableFrom(rawType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        AnnotationIntrospector introspector = ctxt.getAnnotationIntrospector();
+        for (Member member : members.values()) {
+            AnnotatedMember mutator = member.property.getMember();
+            JavaType memberType = introspector.refineDeserializationType(ctxt.getConfig(), mutator,
+                    member.property.getType());
+            Object custom = introspector.findDeserializer(mutator);
+            if (custom != null) {
+                member.deserializer = (JsonDeserializer<Object>) ctxt.handlePrimaryContextualization(
+                        ctxt.deserializerInstance(mutator, custom), member.property, memberType);
+            } else {
+                member.deserializer = ctxt.findContextualValueDeserializer(memberType, member.property);
+            }
+            member.typeDeserializer = ctxt.getConfig().findTypeDeserializer(memberType);
+        }
+        foreignDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Object.class));
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return type;
+    }
+
+    @Override
+    public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        JsonToken token = jp.getCurrentToken();
+        if (token == JsonToken.START_OBJECT)
+            token = jp.nextToken();
+        else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT)
+            return type.cast(ctxt.handleUnexpectedToken(type, jp));
+
+        T obj = constructor.get();
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String name = jp.getCurrentName();
+            token = jp.nextToken();
+
+            Member member = members.get(name);
+            if (member != null) {
+                Object value;
+                if (token == JsonToken.VALUE_NULL)
+                    value = member.deserializer.getNullValue(ctxt);
+                else if (member.typeDeserializer != null)
+                    value = member.deserializer.deserializeWithType(jp, ctxt, member.typeDeserializer);
+                else
+                    value = member.deserializer.deserialize(jp, ctxt);
+                member.setter.accept(obj, value);
+            } else if (ignoreUnknown || ignored.contains(name)) {
+                jp.skipChildren();
+            } else {
+                obj.set(name, token == JsonToken.VALUE_NULL ? null : foreignDeserializer.deserialize(jp, ctxt));
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser jp, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        return typeDeserializer.deserializeTypedFromObject(jp, ctxt);
+    }
+
+    /**
+     * A settable property with the deserializer of its value, resolved once per mapper
+     */
+    private static final class Member {
+
+        final BeanProperty property;
+        final BiConsumer<Object, Object> setter;
+        JsonDeserializer<Object> deserializer;
+        TypeDeserializer typeDeserializer;
+
+        Member(BeanProperty property, BiConsumer<Object, Object> setter) {
+            this.property = property;
+            this.setter = setter;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (isLinkable(owner) && isLinkable(method.getParameterTypes()[0])) {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), handle,
+                        MethodType.methodType(void.class, owner, MethodType.methodType(
+                                method.getParameterTypes()[0]).wrap().returnType()));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            }
+        } catch (Throwable e) {
+            // not accessible from this package, bound by a method handle below
+        }
+
+        method.setAccessible(true);
+        try {
+            return setter(LOOKUP.unreflect(method));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot access " + method, e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> setter(Field field) {
+        field.setAccessible(true);
+        try {
+            return setter(LOOKUP.unreflectSetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot access " + field, e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> setter(MethodHandle handle) {
+        final MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (obj, value) -> {
+            try {
+                generic.invokeExact(obj, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<?> constructor(Constructor<?> constructor) {
+        Class<?> owner = constructor.getDeclaringClass();
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            if (isLinkable(owner)) {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+                        MethodType.methodType(owner));
+                return (Supplier<?>) site.getTarget().invokeExact();
+            }
+        } catch (Throwable e) {
+            // not accessible from this package, called by a method handle below
+        }
+
+        constructor.setAccessible(true);
+        try {
+            final MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return handle.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot access " + constructor, e);
+        }
+    }
+
+    /**
+     * Generated lambdas live in this package and link their target by name, so the class must be public and
+     * visible to the class loader of this class.
+     */
+    private static boolean isLinkable(Class<?> type) {
+        while (type.isArray())
+            type = type.getComponentType();
+        if (type.isPrimitive())
+            return true;
+        if (!Modifier.isPublic(type.getModifiers()))
+            return false;
+        try {
+            return Class.forName(type.getName(), false, GeoJsonObjAccessorDeserializer.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import java.io.IOException;
+
+/**
+ * Wraps the bean deserializers of Feature and FeatureCollection (and their subclasses) to scope the crs of an
+ * object to its own geometries:
+ * <ul>
+ * <li>a crs read inside the object is forgotten when the object ends, so a feature crs does not leak into the
+ * following features</li>
+ * <li>geometries read before the crs of their object (or collection) got the default SRID and are converted to
+ * the factory of the crs afterwards</li>
+ * </ul>
+ * With compact properties the properties are moved to {@link CompactProperties} with the {@link PropertyKeys} of
+ * the enclosing collection (see {@link #PROPERTY_KEYS_ATTRIBUTE}), otherwise with a dictionary of the root read, so
+ * no dictionary outlives the values read with it.
+ */
+@SuppressWarnings("WeakerAccess")
+public class GeoJsonObjDeserializer extends DelegatingDeserializer {
+
+    /**
+     * Deserialization context attribute with the {@link PropertyKeys} shared by the objects read with compact
+     * properties, set while reading a FeatureCollection. Readers of single features can set it to share one
+     * dictionary across the features of a file.
+     */
+    public static final String PROPERTY_KEYS_ATTRIBUTE = "geojson.propertyKeys";
+
+    private final boolean compactProperties;
+
+    public GeoJsonObjDeserializer(JsonDeserializer<?> delegatee) {
+        this(delegatee, false);
+    }
+
+    /**
+     * @param compactProperties store the properties as {@link CompactProperties}, false to keep them in HashMaps
+     */
+    public GeoJsonObjDeserializer(JsonDeserializer<?> delegatee, boolean compactProperties) {
+        super(delegatee);
+        this.compactProperties = compactProperties;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new GeoJsonObjDeserializer(newDelegatee, compactProperties);
+    }
+
+    @Override
+    public Object deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        Object srid = ctxt.getAttribute(GeometryJsonDeserializer.SRID_ATTRIBUTE);
+        Object outerKeys = ctxt.getAttribute(PROPERTY_KEYS_ATTRIBUTE);
+        PropertyKeys keys = null;
+        if (compactProperties) {
+            // the features of a collection share the dictionary of the collection
+            if (outerKeys instanceof PropertyKeys) {
+                keys = (PropertyKeys) outerKeys;
+            } else {
+                keys = new PropertyKeys();
+                // features outside of a collection share it for the rest of the root read (per-call attribute)
+                if (!FeatureCollection.class.isAssignableFrom(handledType()))
+                    outerKeys = keys;
+            }
+            ctxt.setAttribute(PROPERTY_KEYS_ATTRIBUTE, keys);
+        }
+
+        Object value;
+        try {
+            value = _delegatee.deserialize(jp, ctxt);
+        } finally {
+            ctxt.setAttribute(GeometryJsonDeserializer.SRID_ATTRIBUTE, srid);
+            if (keys != null)
+                ctxt.setAttribute(PROPERTY_KEYS_ATTRIBUTE, outerKeys);
+        }
+
+        if (value instanceof GeoJsonObj) {
+            applyCrs((GeoJsonObj) value);
+            if (keys != null)
+                ((GeoJsonObj) value).setPropertyKeys(keys);
+        }
+        return value;
+    }
+
+    static void applyCrs(GeoJsonObj obj) {
+        if (obj.getCrs() == null)
+            return;
+        int srid = obj.getCrs().getSrid();
+        if (srid == 0)
+            return;
+
+        if (obj instanceof Feature) {
+            applySrid((Feature) obj, srid);
+        } else if (obj instanceof FeatureCollection) {
+            for (Object feature : ((FeatureCollection<?>) obj).getFeatures()) {
+                if (feature != null && ((Feature) feature).getCrs() == null)
+                    applySrid((Feature) feature, srid);
+            }
+        }
+    }
+
+    private static void applySrid(Feature feature, int srid) {
+        RawGeometry raw = feature.getRawGeometry();
+        if (raw != null) {
+            // not decoded yet, decode with the factory of the crs later
+            if (raw.getFactory().getSRID() != srid)
+                feature.setGeometryJson(raw.withFactory(factory(raw.getFactory(), srid)));
+            return;
+        }
+
+        Geometry geometry = feature.getGeometry();
+        if (geometry != null && geometry.getSRID() != srid)
+            feature.setGeometry(factory(geometry.getFactory(), srid).createGeometry(geometry));
+    }
+
+    // factory of the SRID that keeps the configured CoordinateSequenceFactory
+    private static GeometryFactory factory(GeometryFactory factory, int srid) {
+        return GeoUtil.getGeometryFactory(srid, factory.getCoordinateSequenceFactory());
+    }
+}
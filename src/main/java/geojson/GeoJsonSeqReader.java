@@ -0,0 +1,204 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads features from a GeoJSON text sequence (RFC 8142) or from newline-delimited JSON, one feature per record.
+ * The format is detected from the first byte: a record separator (0x1E) starts a text sequence, in which texts may
+ * span multiple lines, otherwise every line is a feature. Blank records are skipped.
+ * <p>
+ * Iterating deserializes the features on the calling thread. The records are independent, so {@link #stream()}
+ * only splits the records on the calling thread and deserializes them in the stream, where they can be processed
+ * in parallel:
+ * <pre>
+ * try (GeoJsonSeqReader&lt;Feature&gt; reader = new GeoJsonSeqReader&lt;&gt;(in, Feature.class)) {
+ *     reader.stream().parallel().forEach(...);
+ * }
+ * </pre>
+ *
+ * @param <T> the Feature type the features are bound to
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class GeoJsonSeqReader<T extends Feature> implements Iterator<T>, Iterable<T>, Closeable {
+
+    private final ObjectReader featureReader;
+    private final InputStream in;
+
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private int limit;
+    private boolean eof;
+    private byte delimiter;
+
+    private byte[] record = new byte[1 << 10];
+    private byte[] next;
+
+    public GeoJsonSeqReader(InputStream in, Class<T> featureType) {
+        this(Mapper.get(), in, featureType);
+    }
+
+    /**
+     * @param in stream of the records, closed together with this reader
+     */
+    public GeoJsonSeqReader(ObjectMapper mapper, InputStream in, Class<T> featureType) {
+        // with compact properties the features share one key dictionary
+        this.featureReader = mapper.readerFor(featureType)
+                .withAttribute(GeoJsonObjDeserializer.PROPERTY_KEYS_ATTRIBUTE, new PropertyKeys());
+        this.in = in;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null)
+            return true;
+        try {
+            next = readRecord();
+            return next != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        byte[] json = next;
+        next = null;
+        return parse(json);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this;
+    }
+
+    /**
+     * @return stream of the remaining features, the features are deserialized by the stream, closing the stream
+     * closes this reader
+     */
+    public Stream<T> stream() {
+        Iterator<byte[]> records = new Iterator<byte[]>() {
+            @Override
+            public boolean hasNext() {
+                return GeoJsonSeqReader.this.hasNext();
+            }
+
+            @Override
+            public byte[] next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                byte[] json = next;
+                GeoJsonSeqReader.this.next = null;
+                return json;
+            }
+        };
+        Spliterator<byte[]> spliterator = Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).map(this::parse).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private T parse(byte[] json) {
+        try {
+            return featureReader.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the next record that is not blank or null at the end of the input
+     */
+    private byte[] readRecord() throws IOException {
+        while (true) {
+            int length = 0;
+            boolean blank = true;
+            boolean delimited = false;
+            while (!delimited && fill()) {
+                if (delimiter == 0) {
+                    detectDelimiter();
+                    continue;
+                }
+
+                int start = position;
+                while (position < limit && buffer[position] != delimiter) {
+                    if (blank && !isWhitespace(buffer[position]))
+                        blank = false;
+                    position++;
+                }
+                int n = position - start;
+                if (length + n > record.length)
+                    record = Arrays.copyOf(record, Math.max(record.length * 2, length + n));
+                System.arraycopy(buffer, start, record, length, n);
+                length += n;
+
+                if (position < limit) {
+                    position++;
+                    delimited = true;
+                }
+            }
+
+            if (!blank)
+                return Arrays.copyOf(record, length);
+            if (!delimited)
+                return null;
+        }
+    }
+
+    /**
+     * Skips leading whitespace, a record separator as first byte marks a text sequence
+     */
+    private void detectDelimiter() {
+        byte b = buffer[position];
+        if (b == GeoJsonSeqWriter.RECORD_SEPARATOR)
+            delimiter = (byte) GeoJsonSeqWriter.RECORD_SEPARATOR;
+        else if (isWhitespace(b))
+            position++;
+        else
+            delimiter = '\n';
+    }
+
+    /**
+     * @return true if there are buffered bytes
+     */
+    private boolean fill() throws IOException {
+        while (position == limit && !eof) {
+            int n = in.read(buffer, 0, buffer.length);
+            if (n < 0) {
+                eof = true;
+            } else {
+                position = 0;
+                limit = n;
+            }
+        }
+        return position < limit;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == GeoJsonSeqWriter.RECORD_SEPARATOR;
+    }
+}
@@ -0,0 +1,81 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes features as a GeoJSON text sequence (RFC 8142): every feature is prefixed with the record separator
+ * (0x1E) and followed by a line feed. Without record separators the output is newline-delimited JSON.
+ * <p>
+ * There is no enclosing document, so writers can append to existing files.
+ *
+ * @param <T> the Feature type that is written
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class GeoJsonSeqWriter<T extends Feature> implements Closeable, Flushable {
+
+    static final char RECORD_SEPARATOR = '\u001e';
+
+    private final ObjectWriter featureWriter;
+    private final JsonGenerator generator;
+    private final boolean recordSeparators;
+
+    public GeoJsonSeqWriter(OutputStream out) throws IOException {
+        this(Mapper.get(), out, true);
+    }
+
+    /**
+     * @param out              stream the features are written to, closed together with this writer
+     * @param recordSeparators true for RFC 8142, false for newline-delimited JSON
+     */
+    public GeoJsonSeqWriter(ObjectMapper mapper, OutputStream out, boolean recordSeparators) throws IOException {
+        this.featureWriter = mapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // records are delimited by this writer, not by the default space between root values
+        this.generator.setRootValueSeparator(null);
+        this.recordSeparators = recordSeparators;
+    }
+
+    public GeoJsonSeqWriter<T> write(T feature) throws IOException {
+        if (recordSeparators)
+            generator.writeRaw(RECORD_SEPARATOR);
+        featureWriter.writeValue(generator, feature);
+        generator.writeRaw('\n');
+        return this;
+    }
+
+    public GeoJsonSeqWriter<T> writeAll(Iterator<? extends T> features) throws IOException {
+        IOConsumer.forEach(features, this::write);
+        return this;
+    }
+
+    public GeoJsonSeqWriter<T> writeAll(Iterable<? extends T> features) throws IOException {
+        return writeAll(features.iterator());
+    }
+
+    public GeoJsonSeqWriter<T> writeAll(Stream<? extends T> features) throws IOException {
+        IOConsumer.forEachOrdered(features, this::write);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
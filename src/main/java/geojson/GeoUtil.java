@@ -2,11 +2,17 @@ package geojson;
 
 import com.vividsolutions.jts.geom.*;
 import com.vividsolutions.jts.geom.impl.CoordinateArraySequence;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequenceFactory;
 import com.vividsolutions.jts.geom.util.AffineTransformation;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class GeoUtil {
@@ -14,10 +20,18 @@ public class GeoUtil {
     public static int WGS84_SRID = 4326;
     public static int GOOGLE_MERCATOR_SRID = 3857;
 
-    private static GeometryFactory localGeometryFactory;
-    private static GeometryFactory wgs84GeometryFactory;
-    private static GeometryFactory googleMapsMercatorProjectionFactory;
+    private static final ConcurrentMap<Integer, GeometryFactory> otherFactories = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<CoordinateSequenceFactory, ConcurrentMap<Integer, GeometryFactory>>
+            sequenceFactories = new ConcurrentHashMap<>();
 
+    /**
+     * The shared factories, created once by the class initialization on first use (thread-safe without locking)
+     */
+    private static final class Factories {
+        static final GeometryFactory LOCAL = new GeometryFactory(new PrecisionModel(), 0);
+        static final GeometryFactory WGS84 = new GeometryFactory(new PrecisionModel(), WGS84_SRID);
+        static final GeometryFactory MERCATOR = new GeometryFactory(new PrecisionModel(), GOOGLE_MERCATOR_SRID);
+    }
 
     public static final double EarthRadius = 6378137;
     public static final double EarthRadiusPI = EarthRadius * Math.PI;
@@ -29,21 +43,61 @@ public class GeoUtil {
 
 
     public static GeometryFactory getLocalGeometryFactory() {
-        if (localGeometryFactory == null)
-            localGeometryFactory = new GeometryFactory(new PrecisionModel(), 0);
-        return localGeometryFactory;
+        return Factories.LOCAL;
     }
 
     public static GeometryFactory getWgs84GeometryFactory() {
-        if (wgs84GeometryFactory == null)
-            wgs84GeometryFactory = new GeometryFactory(new PrecisionModel(), WGS84_SRID);
-        return wgs84GeometryFactory;
+        return Factories.WGS84;
     }
 
     public static GeometryFactory getMercatorFactory() {
-        if (googleMapsMercatorProjectionFactory == null)
-            googleMapsMercatorProjectionFactory = new GeometryFactory(new PrecisionModel(), GOOGLE_MERCATOR_SRID);
-        return googleMapsMercatorProjectionFactory;
+        return Factories.MERCATOR;
+    }
+
+    /**
+     * @param SRID spatial reference id
+     * @return the shared factory for WGS84, Google Mercator and local coordinates, otherwise a cached factory
+     * for the SRID
+     */
+    public static GeometryFactory getGeometryFactory(int SRID) {
+        if (SRID == WGS84_SRID)
+            return getWgs84GeometryFactory();
+        if (SRID == GOOGLE_MERCATOR_SRID)
+            return getMercatorFactory();
+        if (SRID == 0)
+            return getLocalGeometryFactory();
+
+        GeometryFactory factory = otherFactories.get(SRID);
+        if (factory == null) {
+            otherFactories.putIfAbsent(SRID, new GeometryFactory(new PrecisionModel(), SRID));
+            factory = otherFactories.get(SRID);
+        }
+        return factory;
+    }
+
+    /**
+     * @param SRID                      spatial reference id
+     * @param coordinateSequenceFactory creates the coordinate sequences of the geometries, e.g.
+     *                                  PackedCoordinateSequenceFactory.DOUBLE_FACTORY to store coordinates in a
+     *                                  double[] instead of Coordinate objects
+     * @return {@link #getGeometryFactory(int)} for the default CoordinateArraySequenceFactory, otherwise a cached
+     * factory for the SRID and coordinateSequenceFactory
+     */
+    public static GeometryFactory getGeometryFactory(int SRID, CoordinateSequenceFactory coordinateSequenceFactory) {
+        if (coordinateSequenceFactory == null || coordinateSequenceFactory == CoordinateArraySequenceFactory.instance())
+            return getGeometryFactory(SRID);
+
+        ConcurrentMap<Integer, GeometryFactory> factories = sequenceFactories.get(coordinateSequenceFactory);
+        if (factories == null) {
+            sequenceFactories.putIfAbsent(coordinateSequenceFactory, new ConcurrentHashMap<Integer, GeometryFactory>());
+            factories = sequenceFactories.get(coordinateSequenceFactory);
+        }
+        GeometryFactory factory = factories.get(SRID);
+        if (factory == null) {
+            factories.putIfAbsent(SRID, new GeometryFactory(new PrecisionModel(), SRID, coordinateSequenceFactory));
+            factory = factories.get(SRID);
+        }
+        return factory;
     }
 
     /**
@@ -112,7 +166,7 @@ public class GeoUtil {
     public static double angleDeg(final Point p1, final Point p2) {
         Point p1M = asMercator(p1);
         Point p2M = asMercator(p2);
-        final double bearing = Math.toDegrees(Math.atan2(p2M.getY() - p1M.getY(), p2M.getX() - p1M.getX()));
+        final double bearing = Math.toDegrees(Math.atan2(y(p2M) - y(p1M), x(p2M) - x(p1M)));
         return (bearing + 360) % 360; // normalize
     }
 
@@ -125,8 +179,8 @@ public class GeoUtil {
         final double dist = distanceMeters / EarthRadius;
         final Point pW = asWgs84(origin);
 
-        final double lat1 = Math.toRadians(pW.getY());
-        final double lon1 = Math.toRadians(pW.getX());
+        final double lat1 = Math.toRadians(y(pW));
+        final double lon1 = Math.toRadians(x(pW));
 
         final double bearingRad = Math.toRadians(bearingDeg);
 
@@ -148,10 +202,10 @@ public class GeoUtil {
         Point p1W = asWgs84(p1);
         Point p2W = asWgs84(p2);
 
-        final double lat1 = Math.toRadians(p1W.getY());
-        final double long1 = Math.toRadians(p1W.getX());
-        final double lat2 = Math.toRadians(p2W.getY());
-        final double long2 = Math.toRadians(p2W.getX());
+        final double lat1 = Math.toRadians(y(p1W));
+        final double long1 = Math.toRadians(x(p1W));
+        final double lat2 = Math.toRadians(y(p2W));
+        final double long2 = Math.toRadians(x(p2W));
         final double delta_long = long2 - long1;
         final double a = Math.sin(delta_long) * Math.cos(lat2);
         final double b = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2)
@@ -171,24 +225,142 @@ public class GeoUtil {
     public static double metricDistance(final Point p1, final Point p2) {
         Point p1W = asWgs84(p1);
         Point p2W = asWgs84(p2);
+        return haversineDistance(x(p1W), y(p1W), x(p2W), y(p2W));
+    }
+
+    /**
+     * Great-circle distance, numerically stable for short distances
+     *
+     * @return distance in meters between two WGS84 positions
+     */
+    public static double haversineDistance(double lon1, double lat1, double lon2, double lat2) {
+        final double phi1 = Math.toRadians(lat1);
+        final double phi2 = Math.toRadians(lat2);
+        final double sinDPhi = Math.sin((phi2 - phi1) / 2);
+        final double sinDLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        final double a = sinDPhi * sinDPhi + Math.cos(phi1) * Math.cos(phi2) * sinDLambda * sinDLambda;
+        return 2 * EarthRadius * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Fast approximation of the distance on a plane scaled by the cosine of the mean latitude, one cosine and one
+     * square root per call. The relative error to {@link #haversineDistance} stays below 0.1% for distances up to
+     * 100 km at latitudes up to 70°, it grows with the distance and towards the poles.
+     *
+     * @return distance in meters between two WGS84 positions
+     */
+    public static double equirectangularDistance(double lon1, double lat1, double lon2, double lat2) {
+        final double x = Math.toRadians(lon2 - lon1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        final double y = Math.toRadians(lat2 - lat1);
+        return EarthRadius * Math.sqrt(x * x + y * y);
+    }
 
-        final double a1 = Math.toRadians(p1W.getY());
-        final double a2 = Math.toRadians(p1W.getX());
-        final double b1 = Math.toRadians(p2W.getY());
-        final double b2 = Math.toRadians(p2W.getX());
+    /**
+     * Great-circle distances from one position to many.
+     *
+     * @param lons   longitudes of the targets
+     * @param lats   latitudes of the targets
+     * @param result distances in meters, at least as long as lons
+     */
+    public static void distances(double lon, double lat, double[] lons, double[] lats, double[] result) {
+        final int n = lons.length;
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        final double[] z = new double[n];
+        unitVectors(lons, lats, x, y, z);
+
+        final double phi = Math.toRadians(lat);
+        final double lambda = Math.toRadians(lon);
+        final double ux = Math.cos(phi) * Math.cos(lambda);
+        final double uy = Math.cos(phi) * Math.sin(lambda);
+        final double uz = Math.sin(phi);
+
+        for (int j = 0; j < n; j++) {
+            final double dx = x[j] - ux;
+            final double dy = y[j] - uy;
+            final double dz = z[j] - uz;
+            result[j] = dx * dx + dy * dy + dz * dz;
+        }
+        chordsToMeters(result, 0, n);
+    }
 
-        final double cosa1 = Math.cos(a1);
-        final double cosb1 = Math.cos(b1);
+    /**
+     * Great-circle distances of all pairs of two position lists.
+     *
+     * @return distances in meters, row major: the distance from position i of the first list to position j of the
+     * second list is at index i * lons2.length + j
+     */
+    public static double[] distanceMatrix(double[] lons1, double[] lats1, double[] lons2, double[] lats2) {
+        final int n = lons1.length;
+        final int m = lons2.length;
+        final double[] x = new double[m];
+        final double[] y = new double[m];
+        final double[] z = new double[m];
+        unitVectors(lons2, lats2, x, y, z);
+
+        final double[] result = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            final double phi = Math.toRadians(lats1[i]);
+            final double lambda = Math.toRadians(lons1[i]);
+            final double ux = Math.cos(phi) * Math.cos(lambda);
+            final double uy = Math.cos(phi) * Math.sin(lambda);
+            final double uz = Math.sin(phi);
+
+            final int row = i * m;
+            for (int j = 0; j < m; j++) {
+                final double dx = x[j] - ux;
+                final double dy = y[j] - uy;
+                final double dz = z[j] - uz;
+                result[row + j] = dx * dx + dy * dy + dz * dz;
+            }
+        }
+        chordsToMeters(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * @return sum of the great-circle distances of consecutive positions in meters
+     */
+    public static double trackLength(double[] lons, double[] lats) {
+        final int n = lons.length;
+        if (n < 2)
+            return 0;
+
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        final double[] z = new double[n];
+        unitVectors(lons, lats, x, y, z);
+
+        double length = 0;
+        for (int i = 1; i < n; i++) {
+            final double dx = x[i] - x[i - 1];
+            final double dy = y[i] - y[i - 1];
+            final double dz = z[i] - z[i - 1];
+            length += Math.asin(Math.min(1, Math.sqrt(dx * dx + dy * dy + dz * dz) / 2));
+        }
+        return 2 * EarthRadius * length;
+    }
 
-        final double t1 = cosa1 * Math.cos(a2) * cosb1 * Math.cos(b2);
-        final double t2 = cosa1 * Math.sin(a2) * cosb1 * Math.sin(b2);
-        final double t3 = Math.sin(a1) * Math.sin(b1);
+    /*
+     * The batch distances compare positions as unit vectors on the sphere: the trigonometric functions are
+     * evaluated once per position, the loops over the pairs are plain arithmetic on primitive arrays (which the
+     * JIT can vectorize) and the squared chord length is converted to the arc length in a separate pass.
+     */
 
-        final double tt = Math.acos(t1 + t2 + t3);
+    private static void unitVectors(double[] lons, double[] lats, double[] x, double[] y, double[] z) {
+        for (int i = 0; i < lons.length; i++) {
+            final double phi = Math.toRadians(lats[i]);
+            final double lambda = Math.toRadians(lons[i]);
+            final double cosPhi = Math.cos(phi);
+            x[i] = cosPhi * Math.cos(lambda);
+            y[i] = cosPhi * Math.sin(lambda);
+            z[i] = Math.sin(phi);
+        }
+    }
 
-        double distance = EarthRadius * tt;
-        if(Double.isNaN(distance)) return 0;
-        return distance;
+    private static void chordsToMeters(double[] squaredChords, int from, int to) {
+        for (int i = from; i < to; i++)
+            squaredChords[i] = 2 * EarthRadius * Math.asin(Math.min(1, Math.sqrt(squaredChords[i]) / 2));
     }
 
 //    public static double metricDistance(final Geometry geom1, final Geometry geom2) {
@@ -205,6 +377,13 @@ public class GeoUtil {
 //    }
 
 
+    /**
+     * Projects between WGS84 and the SRIDs of the {@link Projections} registry.
+     *
+     * @param geom the geometry, not modified
+     * @return a copy of the geometry projected to the SRID (created by the factory of the SRID with the
+     * CoordinateSequenceFactory of geom) or geom itself if it already has the SRID
+     */
     public static <T extends Geometry> T project(T geom, int SRID) {
         if (geom == null)
             return null;
@@ -212,26 +391,109 @@ public class GeoUtil {
         if (geom.getSRID() == SRID)
             return geom;
 
-        // project from WGS84 to Google Mercator
-        if (geom.getSRID() == WGS84_SRID && SRID == GOOGLE_MERCATOR_SRID) {
-            //noinspection unchecked
-            T copy = (T) getMercatorFactory().createGeometry(geom);
-            for (Coordinate coordinate : copy.getCoordinates()) {
-                mercator(coordinate);
+        CoordinateSequenceFilter filter = Projections.transform(geom.getSRID(), SRID);
+
+        // createGeometry copies the coordinate sequences, which are then projected without further copies
+        @SuppressWarnings("unchecked")
+        T copy = (T) getGeometryFactory(SRID, geom.getFactory().getCoordinateSequenceFactory()).createGeometry(geom);
+        copy.apply(filter);
+        return copy;
+    }
+
+    /**
+     * Projects the coordinates of the geometry without copying them. Coordinate objects and sequences that are
+     * shared within the geometry, like the first Coordinate closing a ring, are projected once. The SRID of the
+     * geometry and its components is set, the factory of the geometry is kept, so getFactory().getSRID() still is
+     * the source SRID. Use {@link #project(Geometry, int)} for a geometry of the factory of the SRID.
+     *
+     * @param geom the geometry, modified
+     * @return geom
+     */
+    public static <T extends Geometry> T projectInPlace(T geom, final int SRID) {
+        if (geom == null || geom.getSRID() == SRID)
+            return geom;
+
+        geom.apply(new SharedCoordinatesFilter(Projections.transform(geom.getSRID(), SRID)));
+        geom.apply(new GeometryComponentFilter() {
+            @Override
+            public void filter(Geometry component) {
+                component.setSRID(SRID);
             }
-            return copy;
+        });
+        return geom;
+    }
+
+    /**
+     * Applies a filter once per Coordinate object and sequence, the filter of a shared Coordinate would otherwise
+     * transform already transformed ordinates
+     */
+    private static final class SharedCoordinatesFilter implements CoordinateSequenceFilter {
+
+        private final CoordinateSequenceFilter filter;
+        private final Set<CoordinateSequence> sequences = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Coordinate> coordinates = Collections.newSetFromMap(new IdentityHashMap<>());
+        private CoordinateSequence current;
+        private boolean skip;
+
+        SharedCoordinatesFilter(CoordinateSequenceFilter filter) {
+            this.filter = filter;
         }
 
-        if (geom.getSRID() == GOOGLE_MERCATOR_SRID && SRID == WGS84_SRID) {
-            //noinspection unchecked
-            T copy = (T) getWgs84GeometryFactory().createGeometry(geom);
-            for (Coordinate coordinate : copy.getCoordinates()) {
-                inverseMercator(coordinate);
+        @Override
+        public void filter(CoordinateSequence seq, int i) {
+            if (seq != current) {
+                current = seq;
+                skip = !sequences.add(seq);
             }
-            return copy;
+            if (skip)
+                return;
+            // only sequences of Coordinate objects can share them
+            if (seq instanceof CoordinateArraySequence && !coordinates.add(seq.getCoordinate(i)))
+                return;
+            filter.filter(seq, i);
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
         }
 
-        throw new IllegalArgumentException("Projection from " + geom.getSRID() + " to " + SRID + " not supported.");
+        @Override
+        public boolean isGeometryChanged() {
+            return true;
+        }
+    }
+
+    /**
+     * Projects the geometries of all features and resets their cached bboxes. If the collection has a crs it is
+     * replaced by the crs of the SRID.
+     *
+     * @param collection the features, modified
+     * @param inPlace    project the coordinates without copying the geometries (see {@link #projectInPlace})
+     * @param parallel   project the features in parallel on the common fork join pool
+     */
+    public static <T extends Feature> FeatureCollection<T> project(FeatureCollection<T> collection, final int SRID,
+                                                                   final boolean inPlace, boolean parallel) {
+        if (parallel) {
+            collection.getFeatures().parallelStream().forEach(feature -> project(feature, SRID, inPlace));
+        } else {
+            for (T feature : collection.getFeatures())
+                project(feature, SRID, inPlace);
+        }
+
+        collection.setBbox(null);
+        if (collection.getCrs() != null)
+            collection.setCrs(new Crs(SRID));
+        return collection;
+    }
+
+    private static void project(Feature feature, int SRID, boolean inPlace) {
+        if (feature == null || feature.getGeometry() == null)
+            return;
+        feature.setGeometry(inPlace ? projectInPlace(feature.getGeometry(), SRID) : project(feature.getGeometry(), SRID));
+        feature.setBbox(null);
+        if (feature.getCrs() != null)
+            feature.setCrs(new Crs(SRID));
     }
 
     /**
@@ -297,10 +559,13 @@ public class GeoUtil {
         if (g1.getSRID() != g2.getSRID())
             throw new IllegalArgumentException("Geometries with different CRS");
 
-        CoordinateSequence coordinateSequence = new CoordinateArraySequence(new Coordinate[]{
-                g1.getCentroid().getCoordinate(),
-                g2.getCentroid().getCoordinate()
-        });
+        Point c1 = g1.getCentroid();
+        Point c2 = g2.getCentroid();
+        CoordinateSequence coordinateSequence = g1.getFactory().getCoordinateSequenceFactory().create(2, 2);
+        coordinateSequence.setOrdinate(0, CoordinateSequence.X, x(c1));
+        coordinateSequence.setOrdinate(0, CoordinateSequence.Y, y(c1));
+        coordinateSequence.setOrdinate(1, CoordinateSequence.X, x(c2));
+        coordinateSequence.setOrdinate(1, CoordinateSequence.Y, y(c2));
 
         return new LineString(coordinateSequence, g1.getFactory());
     }
@@ -325,7 +590,22 @@ public class GeoUtil {
 //    }
 
     public static double spatialDistance(Point p1, Point p2) {
-        return Math.sqrt(Math.pow((p2.getX() - p1.getX()), 2) + Math.pow((p2.getY() - p1.getY()), 2));
+        return Math.sqrt(Math.pow((x(p2) - x(p1)), 2) + Math.pow((y(p2) - y(p1)), 2));
+    }
+
+    /**
+     * @return x of the point read from its CoordinateSequence, unlike Point.getX() without creating a Coordinate
+     * for packed sequences
+     */
+    static double x(Point p) {
+        return p.getCoordinateSequence().getOrdinate(0, CoordinateSequence.X);
+    }
+
+    /**
+     * @return y of the point read from its CoordinateSequence
+     */
+    static double y(Point p) {
+        return p.getCoordinateSequence().getOrdinate(0, CoordinateSequence.Y);
     }
 
     public static double spatialDistance(double[] p1, double[] p2) {
@@ -0,0 +1,27 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.vividsolutions.jts.geom.Geometry;
+
+import java.io.IOException;
+
+/**
+ * Serializes geometries as binary values of a {@link GeometryCodec}: base64 strings in JSON, native binary values
+ * in binary Jackson formats like Smile or CBOR.
+ */
+@SuppressWarnings("WeakerAccess")
+public class GeometryBinarySerializer extends JsonSerializer<Geometry> {
+
+    private final GeometryCodec codec;
+
+    public GeometryBinarySerializer(GeometryCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void serialize(Geometry geometry, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeBinary(codec.encode(geometry));
+    }
+}
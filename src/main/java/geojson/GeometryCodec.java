@@ -0,0 +1,21 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+/**
+ * Binary encoding of geometries, an alternative to GeoJSON geometry objects for service to service transfer.
+ * Codecs do not encode the SRID, it is taken from the crs like for GeoJSON geometries.
+ *
+ * @see GeoJacksonModule#setGeometryCodec(GeometryCodec)
+ */
+public interface GeometryCodec {
+
+    byte[] encode(Geometry geometry);
+
+    /**
+     * @param factory factory of the geometry
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    Geometry decode(byte[] bytes, GeometryFactory factory);
+}
@@ -2,125 +2,357 @@ package geojson;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.vividsolutions.jts.geom.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * Deserializes GeoJSON geometry objects directly from the parser tokens without building a JsonNode tree first.
+ * Members may appear in any order, e.g. "coordinates" before "type". Positions are collected into a primitive
+ * buffer and turned into CoordinateSequences of the factory's CoordinateSequenceFactory.
+ * <p>
+ * The GeometryFactory is chosen by the SRID of the enclosing crs (see {@link #SRID_ATTRIBUTE}), otherwise by the
+ * default SRID of the module, and creates its sequences with the configured CoordinateSequenceFactory, e.g. packed
+ * double[] sequences of dimension 2, or 3 if the positions have z.
+ * <p>
+ * With a {@link GeometryCodec} binary values (or base64 strings in JSON) are decoded as well.
+ */
 @SuppressWarnings({"WeakerAccess", "DuplicateThrows"})
 public class GeometryJsonDeserializer extends JsonDeserializer<Geometry> {
 
-    private static final GeometryFactory factory = GeoUtil.getWgs84GeometryFactory();
+    /**
+     * Deserialization context attribute with the SRID (Integer) of the current crs, set while reading a GeoJSON
+     * object with a resolvable crs
+     */
+    public static final String SRID_ATTRIBUTE = "geojson.srid";
+
+    // marker returned by readArray() when the array was a single position, its ordinates are in the buffer
+    private static final Object POSITION = new Object();
+
+    private final int defaultSrid;
+    private final GeometryCodec codec;
+    private final CoordinateSequenceFactory coordinateSequenceFactory;
+
+    public GeometryJsonDeserializer() {
+        this(GeoUtil.WGS84_SRID);
+    }
+
+    /**
+     * @param defaultSrid SRID of geometries without crs
+     */
+    public GeometryJsonDeserializer(int defaultSrid) {
+        this(defaultSrid, null);
+    }
+
+    /**
+     * @param defaultSrid SRID of geometries without crs
+     * @param codec       codec of binary geometries, null if only GeoJSON geometries are expected
+     */
+    public GeometryJsonDeserializer(int defaultSrid, GeometryCodec codec) {
+        this(defaultSrid, codec, null);
+    }
+
+    /**
+     * @param defaultSrid               SRID of geometries without crs
+     * @param codec                     codec of binary geometries, null if only GeoJSON geometries are expected
+     * @param coordinateSequenceFactory factory of the coordinate sequences, null for the factories of
+     *                                  {@link GeoUtil#getGeometryFactory(int)}
+     */
+    public GeometryJsonDeserializer(int defaultSrid, GeometryCodec codec,
+                                    CoordinateSequenceFactory coordinateSequenceFactory) {
+        this.defaultSrid = defaultSrid;
+        this.codec = codec;
+        this.coordinateSequenceFactory = coordinateSequenceFactory;
+    }
 
     @Override
-    public Geometry deserialize(JsonParser jsonParser, DeserializationContext arg1) throws IOException,
+    public Geometry deserialize(JsonParser jsonParser, DeserializationContext ctxt) throws IOException,
             JsonProcessingException {
-        ObjectCodec oc = jsonParser.getCodec();
-        JsonNode node = oc.readTree(jsonParser);
-        return geometry(node);
+        GeometryFactory factory = factory(ctxt, defaultSrid);
+
+        JsonToken token = jsonParser.getCurrentToken();
+        if (token == JsonToken.VALUE_EMBEDDED_OBJECT || token == JsonToken.VALUE_STRING) {
+            if (codec == null)
+                throw new IllegalArgumentException("binary geometry but no GeometryCodec configured");
+            return codec.decode(jsonParser.getBinaryValue(), factory);
+        }
+        return geometry(jsonParser, new Ordinates(factory));
     }
 
-    Geometry geometry(JsonNode node) {
-        if (node.get("type") == null)
-            throw new IllegalArgumentException("no type specified");
+    /**
+     * @return the factory for the SRID of the current crs or defaultSrid
+     */
+    GeometryFactory factory(DeserializationContext ctxt, int defaultSrid) {
+        Object srid = ctxt.getAttribute(SRID_ATTRIBUTE);
+        return GeoUtil.getGeometryFactory(srid instanceof Integer ? (Integer) srid : defaultSrid,
+                coordinateSequenceFactory);
+    }
+
+    /**
+     * @param jp parser positioned on START_OBJECT or the first FIELD_NAME of a geometry object
+     * @return the geometry, the parser is positioned on the END_OBJECT of the geometry
+     */
+    Geometry geometry(JsonParser jp, Ordinates ordinates) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+        if (token == JsonToken.START_OBJECT)
+            token = jp.nextToken();
+
+        String type = null;
+        Object coordinates = null;
+        List<Geometry> geometries = null;
 
-        String type = node.get("type").textValue();
-        ArrayNode coordinates = (ArrayNode) node.get("coordinates");
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String field = jp.getCurrentName();
+            token = jp.nextToken();
+            switch (field) {
+                case "type":
+                    type = jp.getText();
+                    break;
+                case "coordinates":
+                    if (token == JsonToken.START_ARRAY)
+                        coordinates = coordinates(jp, ordinates);
+                    else
+                        jp.skipChildren();
+                    break;
+                case "geometries":
+                    if (token == JsonToken.START_ARRAY)
+                        geometries = geometries(jp, ordinates);
+                    else
+                        jp.skipChildren();
+                    break;
+                default:
+                    jp.skipChildren();
+            }
+        }
+
+        if (type == null)
+            throw new IllegalArgumentException("no type specified");
 
         switch (type) {
             case "Point":
-                return point(coordinates);
+                return point(coordinates, ordinates.factory);
             case "MultiPoint":
-                return multiPoint(coordinates);
+                return multiPoint(coordinates, ordinates.factory);
             case "LineString":
-                return lineString(coordinates);
+                return lineString(coordinates, ordinates.factory);
             case "MultiLineString":
-                return multiLineString(coordinates);
+                return multiLineString(coordinates, ordinates.factory);
             case "Polygon":
-                return polygon(coordinates);
+                return polygon(coordinates, ordinates.factory);
             case "MultiPolygon":
-                return multiPolygon(coordinates);
+                return multiPolygon(coordinates, ordinates.factory);
             case "GeometryCollection":
-                return geometryCollection((ArrayNode) node.get("geometries"));
+                return geometryCollection(geometries, ordinates.factory);
             default:
                 throw new IllegalArgumentException("invalid Feature type: " + type);
         }
     }
 
-    Geometry point(ArrayNode coordinates) {
-        Coordinate coordinate = toCoordinate(coordinates);
-        return factory.createPoint(coordinate);
+    Point point(Object coordinates, GeometryFactory factory) {
+        return factory.createPoint(toSequence(coordinates, factory));
     }
 
-    Geometry multiPoint(ArrayNode nodes) {
-        Coordinate[] coordinates = toCoordinateArray(nodes);
-        return factory.createMultiPoint(coordinates);
+    MultiPoint multiPoint(Object coordinates, GeometryFactory factory) {
+        return factory.createMultiPoint(toSequence(coordinates, factory));
     }
 
-    LineString lineString(ArrayNode nodes) {
-        Coordinate[] coordinates = toCoordinateArray(nodes);
-        return factory.createLineString(coordinates);
+    LineString lineString(Object coordinates, GeometryFactory factory) {
+        return factory.createLineString(toSequence(coordinates, factory));
     }
 
-    MultiLineString multiLineString(ArrayNode nodes) {
+    MultiLineString multiLineString(Object coordinates, GeometryFactory factory) {
+        List<?> nodes = toList(coordinates);
         LineString[] lineStrings = new LineString[nodes.size()];
         for (int i = 0; i < lineStrings.length; ++i) {
-            lineStrings[i] = lineString((ArrayNode) nodes.get(i));
+            lineStrings[i] = lineString(nodes.get(i), factory);
         }
         return factory.createMultiLineString(lineStrings);
     }
 
-    Polygon polygon(ArrayNode nodes) {
-        LinearRing outerRing = toLinearRing((ArrayNode) nodes.get(0));
+    Polygon polygon(Object coordinates, GeometryFactory factory) {
+        List<?> nodes = toList(coordinates);
+        if (nodes.isEmpty())
+            return factory.createPolygon(null, null);
+
+        LinearRing outerRing = factory.createLinearRing(toSequence(nodes.get(0), factory));
         LinearRing[] innerRings = new LinearRing[nodes.size() - 1];
         for (int i = 0; i < innerRings.length; ++i) {
-            innerRings[i] = toLinearRing((ArrayNode) nodes.get(i + 1));
+            innerRings[i] = factory.createLinearRing(toSequence(nodes.get(i + 1), factory));
         }
         return factory.createPolygon(outerRing, innerRings);
     }
 
-    MultiPolygon multiPolygon(ArrayNode nodes) {
+    MultiPolygon multiPolygon(Object coordinates, GeometryFactory factory) {
+        List<?> nodes = toList(coordinates);
         Polygon[] polygons = new Polygon[nodes.size()];
         for (int i = 0; i < polygons.length; ++i) {
-            polygons[i] = polygon((ArrayNode) nodes.get(i));
+            polygons[i] = polygon(nodes.get(i), factory);
         }
         return factory.createMultiPolygon(polygons);
     }
 
-    GeometryCollection geometryCollection(ArrayNode nodes) {
-        Geometry[] geometries = new Geometry[nodes.size()];
-        for (int i = 0; i < geometries.length; ++i) {
-            geometries[i] = geometry(nodes.get(i));
+    GeometryCollection geometryCollection(List<Geometry> geometries, GeometryFactory factory) {
+        if (geometries == null)
+            geometries = Collections.emptyList();
+        return factory.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
+    }
+
+    List<Geometry> geometries(JsonParser jp, Ordinates ordinates) throws IOException {
+        List<Geometry> geometries = new ArrayList<>();
+        JsonToken token;
+        while ((token = jp.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT)
+                throw new IllegalArgumentException("geometry object expected but was " + token);
+            geometries.add(geometry(jp, ordinates));
         }
-        return factory.createGeometryCollection(geometries);
+        return geometries;
     }
 
-    LinearRing toLinearRing(ArrayNode nodes) {
-        Coordinate[] coordinates = toCoordinateArray(nodes);
-        return factory.createLinearRing(coordinates);
+    /**
+     * Reads a "coordinates" value of any nesting depth. The result does not depend on the geometry type, so
+     * "type" may come after "coordinates".
+     *
+     * @return a CoordinateSequence for positions and arrays of positions, otherwise a List of nested results
+     */
+    Object coordinates(JsonParser jp, Ordinates ordinates) throws IOException {
+        ordinates.clear();
+        Object coordinates = readArray(jp, ordinates);
+        if (coordinates == POSITION)
+            return ordinates.toSequence(0, 1);
+        return coordinates;
+    }
+
+    private Object readArray(JsonParser jp, Ordinates ordinates) throws IOException {
+        JsonToken token = jp.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            readPosition(jp, ordinates);
+            return POSITION;
+        }
+
+        int mark = ordinates.size();
+        int positions = 0;
+        List<Object> children = null;
+        for (; token != JsonToken.END_ARRAY; token = jp.nextToken()) {
+            if (token != JsonToken.START_ARRAY)
+                throw new IllegalArgumentException("invalid coordinates, array expected but was " + token);
+
+            Object child = readArray(jp, ordinates);
+            if (child == POSITION) {
+                positions++;
+            } else {
+                if (children == null)
+                    children = new ArrayList<>();
+                children.add(child);
+            }
+        }
+
+        if (positions > 0 && children != null)
+            throw new IllegalArgumentException("invalid coordinates, positions mixed with arrays");
+
+        if (positions > 0) {
+            CoordinateSequence sequence = ordinates.toSequence(mark, positions);
+            ordinates.truncate(mark);
+            return sequence;
+        }
+        return children == null ? Collections.emptyList() : children;
     }
 
-    Coordinate[] toCoordinateArray(ArrayNode nodes) {
-        Coordinate[] result = new Coordinate[nodes.size()];
-        for (int i = 0; i < result.length; ++i) {
-            result[i] = toCoordinate((ArrayNode) nodes.get(i));
+    /**
+     * Reads x, y and the optional z of a position. Further ordinates (e.g. measures) are skipped.
+     * The parser is positioned on the first ordinate and ends on the END_ARRAY of the position.
+     */
+    private void readPosition(JsonParser jp, Ordinates ordinates) throws IOException {
+        double x = jp.getDoubleValue();
+        double y = 0, z = Coordinate.NULL_ORDINATE;
+
+        JsonToken token = jp.nextToken();
+        if (token != JsonToken.END_ARRAY) {
+            y = jp.getDoubleValue();
+            token = jp.nextToken();
         }
-        return result;
+        if (token != JsonToken.END_ARRAY) {
+            z = jp.getDoubleValue();
+            token = jp.nextToken();
+        }
+        while (token != JsonToken.END_ARRAY) {
+            jp.skipChildren();
+            token = jp.nextToken();
+        }
+        ordinates.add(x, y, z);
+    }
+
+    private CoordinateSequence toSequence(Object coordinates, GeometryFactory factory) {
+        if (coordinates instanceof CoordinateSequence)
+            return (CoordinateSequence) coordinates;
+        if (coordinates == null || coordinates instanceof List && ((List<?>) coordinates).isEmpty())
+            return factory.getCoordinateSequenceFactory().create(new Coordinate[0]);
+        throw new IllegalArgumentException("invalid coordinates, array of positions expected");
+    }
+
+    private List<?> toList(Object coordinates) {
+        if (coordinates == null)
+            return Collections.emptyList();
+        if (coordinates instanceof List)
+            return (List<?>) coordinates;
+        throw new IllegalArgumentException("invalid coordinates, nested array expected");
     }
 
-    Coordinate toCoordinate(ArrayNode node) {
-        double x = 0, y = 0, z = Coordinate.NULL_ORDINATE;
-        if (node.size() > 1) {
-            x = node.get(0).asDouble();
-            y = node.get(1).asDouble();
+    /**
+     * Growable buffer of x/y/z triples, reused for all positions of one geometry, and the factory of the geometry.
+     */
+    static final class Ordinates {
+
+        final GeometryFactory factory;
+
+        private double[] values = new double[3 * 16];
+        private int size;
+        private boolean hasZ;
+
+        Ordinates(GeometryFactory factory) {
+            this.factory = factory;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+            hasZ = false;
+        }
+
+        void truncate(int size) {
+            this.size = size;
         }
-        if (node.size() > 2) {
-            z = node.get(1).asDouble();
+
+        void add(double x, double y, double z) {
+            if (3 * size + 3 > values.length)
+                values = Arrays.copyOf(values, values.length * 2);
+            int i = 3 * size++;
+            values[i] = x;
+            values[i + 1] = y;
+            values[i + 2] = z;
+            if (!Double.isNaN(z))
+                hasZ = true;
+        }
+
+        CoordinateSequence toSequence(int from, int count) {
+            int dimension = hasZ ? 3 : 2;
+            CoordinateSequence sequence = factory.getCoordinateSequenceFactory().create(count, dimension);
+            for (int n = 0, i = 3 * from; n < count; n++, i += 3) {
+                sequence.setOrdinate(n, CoordinateSequence.X, values[i]);
+                sequence.setOrdinate(n, CoordinateSequence.Y, values[i + 1]);
+                if (dimension > 2)
+                    sequence.setOrdinate(n, CoordinateSequence.Z, values[i + 2]);
+            }
+            return sequence;
         }
-        return new Coordinate(x, y, z);
     }
-}
\ No newline at end of file
+}
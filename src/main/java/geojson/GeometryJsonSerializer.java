@@ -7,15 +7,31 @@ import com.vividsolutions.jts.geom.*;
 
 import java.io.IOException;
 
+/**
+ * Serializes JTS geometries to GeoJSON geometry objects.
+ * The serializer holds no state, one instance is shared by all threads using the ObjectMapper.
+ * Coordinates are written from the CoordinateSequences of the geometries without copying them, rounded to the
+ * decimal digits of the {@link CoordinatePrecision} for the geometry's SRID.
+ */
 @SuppressWarnings("WeakerAccess")
 public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 
-	private JsonGenerator jgen;
+	private final CoordinatePrecision precision;
+
+	public GeometryJsonSerializer() {
+		this(new CoordinatePrecision());
+	}
+
+	public GeometryJsonSerializer(CoordinatePrecision precision) {
+		this.precision = precision;
+	}
 
 	@Override
 	public void serialize(Geometry geometry, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-		this.jgen = jgen;
+		serialize(geometry, jgen, format(geometry, jgen));
+	}
 
+	void serialize(Geometry geometry, JsonGenerator jgen, Format format) throws IOException {
 		String geometryType = geometry.getGeometryType();
 
 		jgen.writeStartObject();
@@ -24,7 +40,7 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 		switch (geometryType) {
 			case "Point":
 				jgen.writeArrayFieldStart("coordinates");
-				pointCoordinates((Point) geometry);
+				pointCoordinates((Point) geometry, jgen, format);
 				jgen.writeEndArray();
 				break;
 			case "MultiPoint":
@@ -32,14 +48,14 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 				for (int i = 0; i < geometry.getNumGeometries(); i++) {
 					Point child = (Point) geometry.getGeometryN(i);
 					jgen.writeStartArray();
-					pointCoordinates(child);
+					pointCoordinates(child, jgen, format);
 					jgen.writeEndArray();
 				}
 				jgen.writeEndArray();
 				break;
 			case "LineString":
 				jgen.writeArrayFieldStart("coordinates");
-				lineStringCoordinates((LineString) geometry);
+				lineStringCoordinates((LineString) geometry, jgen, format);
 				jgen.writeEndArray();
 				break;
 			case "MultiLineString":
@@ -47,14 +63,14 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 				for (int i = 0; i < geometry.getNumGeometries(); i++) {
 					LineString child = (LineString) geometry.getGeometryN(i);
 					jgen.writeStartArray();
-					lineStringCoordinates(child);
+					lineStringCoordinates(child, jgen, format);
 					jgen.writeEndArray();
 				}
 				jgen.writeEndArray();
 				break;
 			case "Polygon":
 				jgen.writeArrayFieldStart("coordinates");
-				polygonCoordinates((Polygon) geometry);
+				polygonCoordinates((Polygon) geometry, jgen, format);
 				jgen.writeEndArray();
 				break;
 			case "MultiPolygon":
@@ -62,7 +78,7 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 				for (int i = 0; i < geometry.getNumGeometries(); i++) {
 					Polygon child = (Polygon) geometry.getGeometryN(i);
 					jgen.writeStartArray();
-					polygonCoordinates(child);
+					polygonCoordinates(child, jgen, format);
 					jgen.writeEndArray();
 				}
 				jgen.writeEndArray();
@@ -71,7 +87,7 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 				jgen.writeArrayFieldStart("geometries");
 				for (int i = 0; i < geometry.getNumGeometries(); i++) {
 					Geometry child = geometry.getGeometryN(i);
-					serialize(child, jgen, provider);
+					serialize(child, jgen, format);
 				}
 				jgen.writeEndArray();
 				break;
@@ -83,39 +99,80 @@ public class GeometryJsonSerializer extends JsonSerializer<Geometry> {
 
 	}
 
-	void pointCoordinates(Point geometry) throws IOException {
-		toJson(geometry.getCoordinate());
+	void pointCoordinates(Point geometry, JsonGenerator jgen, Format format) throws IOException {
+		CoordinateSequence sequence = geometry.getCoordinateSequence();
+		if (sequence.size() > 0)
+			toJson(sequence, 0, jgen, format);
 	}
 
-	void lineStringCoordinates(LineString geometry) throws IOException {
-		toJson(geometry.getCoordinates());
+	void lineStringCoordinates(LineString geometry, JsonGenerator jgen, Format format) throws IOException {
+		toJson(geometry.getCoordinateSequence(), jgen, format);
 	}
 
-	void polygonCoordinates(Polygon polygon) throws IOException {
+	void polygonCoordinates(Polygon polygon, JsonGenerator jgen, Format format) throws IOException {
+		if (polygon.isEmpty())
+			return;
+
 		jgen.writeStartArray();
-		toJson(polygon.getExteriorRing().getCoordinates());
+		toJson(polygon.getExteriorRing().getCoordinateSequence(), jgen, format);
 		jgen.writeEndArray();
 
-		if (polygon.getNumInteriorRing() > 0) {
+		for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
 			jgen.writeStartArray();
-			for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
-				toJson(polygon.getInteriorRingN(i).getCoordinates());
-			}
+			toJson(polygon.getInteriorRingN(i).getCoordinateSequence(), jgen, format);
 			jgen.writeEndArray();
 		}
 	}
 
-	void toJson(Coordinate[] coordinates) throws IOException {
-		for (Coordinate coordinate : coordinates) {
+	void toJson(CoordinateSequence sequence, JsonGenerator jgen, Format format) throws IOException {
+		for (int i = 0, size = sequence.size(); i < size; i++) {
 			jgen.writeStartArray();
-			toJson(coordinate);
+			toJson(sequence, i, jgen, format);
 			jgen.writeEndArray();
 		}
 	}
 
-	void toJson(Coordinate coordinate) throws IOException {
-		jgen.writeNumber(coordinate.x);
-		jgen.writeNumber(coordinate.y);
+	void toJson(CoordinateSequence sequence, int index, JsonGenerator jgen, Format format) throws IOException {
+		if (format == null) {
+			jgen.writeNumber(sequence.getOrdinate(index, CoordinateSequence.X));
+			jgen.writeNumber(sequence.getOrdinate(index, CoordinateSequence.Y));
+		} else {
+			format.writeNumber(sequence.getOrdinate(index, CoordinateSequence.X), jgen);
+			format.writeNumber(sequence.getOrdinate(index, CoordinateSequence.Y), jgen);
+		}
+	}
+
+	private Format format(Geometry geometry, JsonGenerator jgen) {
+		int decimals = precision.getDecimals(geometry.getSRID());
+		if (decimals == CoordinatePrecision.FULL)
+			return null;
+		return new Format(decimals, jgen.canWriteFormattedNumbers());
+	}
+
+	/**
+	 * Rounding of one serialize call, the buffer is shared by all coordinates of the geometry.
+	 */
+	static final class Format {
+
+		private final int decimals;
+		private final char[] buffer;
+
+		Format(int decimals, boolean formattedNumbers) {
+			this.decimals = decimals;
+			this.buffer = formattedNumbers ? new char[DecimalFormatter.BUFFER_SIZE] : null;
+		}
+
+		void writeNumber(double value, JsonGenerator jgen) throws IOException {
+			if (buffer == null) {
+				jgen.writeNumber(DecimalFormatter.round(value, decimals));
+				return;
+			}
+			int length = DecimalFormatter.format(value, decimals, buffer);
+			if (length < 0)
+				jgen.writeNumber(value);
+			else
+				jgen.writeRawValue(buffer, 0, length);
+		}
 	}
 
 }
@@ -0,0 +1,39 @@
+package geojson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Consumer that may throw an IOException, e.g. the write method of a feature writer
+ *
+ * @param <T> the type of the consumed values
+ */
+@FunctionalInterface
+interface IOConsumer<T> {
+
+    void accept(T value) throws IOException;
+
+    static <T> void forEach(Iterator<? extends T> values, IOConsumer<? super T> consumer) throws IOException {
+        while (values.hasNext())
+            consumer.accept(values.next());
+    }
+
+    /**
+     * Consumes the values in encounter order, an IOException of the consumer is rethrown as is
+     */
+    static <T> void forEachOrdered(Stream<? extends T> values, IOConsumer<? super T> consumer) throws IOException {
+        try {
+            values.forEachOrdered(value -> {
+                try {
+                    consumer.accept(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
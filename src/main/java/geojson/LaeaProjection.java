@@ -0,0 +1,104 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+
+/**
+ * Ellipsoidal Lambert Azimuthal Equal Area, by default ETRS89-extended / LAEA Europe (EPSG:3035) on the GRS80
+ * ellipsoid. Input lon/lat is taken as ETRS89, which is less than a meter from WGS84.
+ * Formulas from EPSG Guidance Note 7-2.
+ */
+@SuppressWarnings("WeakerAccess")
+public class LaeaProjection implements Projection {
+
+    public static final int ETRS89_LAEA_SRID = 3035;
+
+    private static final double A = 6378137;
+    private static final double F = 1 / 298.257222101;
+    private static final double E2 = F * (2 - F);
+    private static final double E = Math.sqrt(E2);
+
+    private static final double QP = q(1);
+    private static final double RQ = A * Math.sqrt(QP / 2);
+
+    // series coefficients to get the latitude from the authalic latitude
+    private static final double LAT1 = E2 / 3 + 31 * E2 * E2 / 180 + 517 * E2 * E2 * E2 / 5040;
+    private static final double LAT2 = 23 * E2 * E2 / 360 + 251 * E2 * E2 * E2 / 3780;
+    private static final double LAT3 = 761 * E2 * E2 * E2 / 45360;
+
+    private final int srid;
+    private final double lon0;
+    private final double falseEasting;
+    private final double falseNorthing;
+    private final double sinBeta0;
+    private final double cosBeta0;
+    private final double d;
+
+    public LaeaProjection() {
+        this(ETRS89_LAEA_SRID, 52, 10, 4321000, 3210000);
+    }
+
+    public LaeaProjection(int srid, double lat0Deg, double lon0Deg, double falseEasting, double falseNorthing) {
+        this.srid = srid;
+        this.lon0 = Math.toRadians(lon0Deg);
+        this.falseEasting = falseEasting;
+        this.falseNorthing = falseNorthing;
+
+        double lat0 = Math.toRadians(lat0Deg);
+        double sinLat0 = Math.sin(lat0);
+        double beta0 = Math.asin(q(sinLat0) / QP);
+        this.sinBeta0 = Math.sin(beta0);
+        this.cosBeta0 = Math.cos(beta0);
+        this.d = A * (Math.cos(lat0) / Math.sqrt(1 - E2 * sinLat0 * sinLat0)) / (RQ * cosBeta0);
+    }
+
+    @Override
+    public int getSrid() {
+        return srid;
+    }
+
+    @Override
+    public void project(CoordinateSequence seq, int i) {
+        double lat = Math.toRadians(seq.getOrdinate(i, CoordinateSequence.Y));
+        double dLon = Math.toRadians(seq.getOrdinate(i, CoordinateSequence.X)) - lon0;
+
+        double beta = Math.asin(q(Math.sin(lat)) / QP);
+        double sinBeta = Math.sin(beta);
+        double cosBeta = Math.cos(beta);
+        double cosDLon = Math.cos(dLon);
+
+        double b = RQ * Math.sqrt(2 / (1 + sinBeta0 * sinBeta + cosBeta0 * cosBeta * cosDLon));
+        seq.setOrdinate(i, CoordinateSequence.X, falseEasting + b * d * cosBeta * Math.sin(dLon));
+        seq.setOrdinate(i, CoordinateSequence.Y, falseNorthing + (b / d) * (cosBeta0 * sinBeta - sinBeta0 * cosBeta * cosDLon));
+    }
+
+    @Override
+    public void unproject(CoordinateSequence seq, int i) {
+        double x = seq.getOrdinate(i, CoordinateSequence.X) - falseEasting;
+        double y = seq.getOrdinate(i, CoordinateSequence.Y) - falseNorthing;
+
+        double rho = Math.sqrt((x / d) * (x / d) + (d * y) * (d * y));
+        if (rho == 0) {
+            seq.setOrdinate(i, CoordinateSequence.X, Math.toDegrees(lon0));
+            seq.setOrdinate(i, CoordinateSequence.Y, Math.toDegrees(latitude(Math.asin(sinBeta0))));
+            return;
+        }
+
+        double c = 2 * Math.asin(rho / (2 * RQ));
+        double sinC = Math.sin(c);
+        double cosC = Math.cos(c);
+        double beta = Math.asin(cosC * sinBeta0 + (d * y * sinC * cosBeta0) / rho);
+        double lon = lon0 + Math.atan2(x * sinC, d * rho * cosBeta0 * cosC - d * d * y * sinBeta0 * sinC);
+
+        seq.setOrdinate(i, CoordinateSequence.X, Math.toDegrees(lon));
+        seq.setOrdinate(i, CoordinateSequence.Y, Math.toDegrees(latitude(beta)));
+    }
+
+    private static double latitude(double beta) {
+        return beta + LAT1 * Math.sin(2 * beta) + LAT2 * Math.sin(4 * beta) + LAT3 * Math.sin(6 * beta);
+    }
+
+    private static double q(double sinLat) {
+        return (1 - E2) * (sinLat / (1 - E2 * sinLat * sinLat)
+                - (1 / (2 * E)) * Math.log((1 - E * sinLat) / (1 + E * sinLat)));
+    }
+}
@@ -0,0 +1,105 @@
+package geojson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream over a memory-mapped file. The file is mapped in regions of at most {@link #DEFAULT_REGION_SIZE}
+ * bytes, so files larger than 2 GB can be read. A region is mapped when the stream reaches it and released to the
+ * garbage collector when the stream moves on.
+ */
+@SuppressWarnings("WeakerAccess")
+class MappedInputStream extends InputStream {
+
+    static final long DEFAULT_REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    MappedInputStream(Path path) throws IOException {
+        this(path, DEFAULT_REGION_SIZE);
+    }
+
+    MappedInputStream(Path path, long regionSize) throws IOException {
+        if (regionSize <= 0 || regionSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("region size must be between 1 and " + Integer.MAX_VALUE);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * @return the region with remaining bytes or null at the end of the file
+     */
+    private MappedByteBuffer region() throws IOException {
+        if (region != null && region.hasRemaining())
+            return region;
+
+        long position = region == null ? regionStart : regionStart + region.capacity();
+        if (position >= size)
+            return null;
+        map(position);
+        return region;
+    }
+
+    private void map(long position) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+        regionStart = position;
+    }
+
+    private long position() {
+        return region == null ? regionStart : regionStart + region.position();
+    }
+
+    @Override
+    public int read() throws IOException {
+        MappedByteBuffer buffer = region();
+        return buffer == null ? -1 : buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        MappedByteBuffer buffer = region();
+        if (buffer == null)
+            return -1;
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long position = position();
+        long target = Math.min(size, position + Math.max(0, n));
+        if (region != null && target - regionStart <= region.capacity())
+            region.position((int) (target - regionStart));
+        else if (target < size)
+            map(target);
+        else {
+            region = null;
+            regionStart = size;
+        }
+        return target - position;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+}
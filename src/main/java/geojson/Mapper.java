@@ -2,26 +2,105 @@ package geojson;
 
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryCollection;
+import com.vividsolutions.jts.geom.LineString;
+import com.vividsolutions.jts.geom.LinearRing;
+import com.vividsolutions.jts.geom.MultiLineString;
+import com.vividsolutions.jts.geom.MultiPoint;
+import com.vividsolutions.jts.geom.MultiPolygon;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.Polygon;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @SuppressWarnings("WeakerAccess")
 public class Mapper {
 
-    private static ObjectMapper MAPPER;
+    /**
+     * The shared mapper, created once by the class initialization on first use (thread-safe without locking)
+     */
+    private static final class Holder {
+        static final ObjectMapper MAPPER = create();
+    }
 
     public static ObjectMapper get() {
-        if (MAPPER == null)
-            MAPPER = create();
-
-        return MAPPER;
+        return Holder.MAPPER;
     }
 
     public static ObjectMapper create() {
+        return create(new GeoJacksonModule());
+    }
+
+    /**
+     * @param module module with custom settings, e.g. coordinate precision
+     */
+    public static ObjectMapper create(GeoJacksonModule module) {
         ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new GeoJacksonModule());
+        mapper.registerModule(module);
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.configure(SerializationFeature.WRITE_NULL_MAP_VALUES, false);
         return mapper;
     }
+
+    /**
+     * Warms up the shared mapper, see {@link #warmUp(ObjectMapper, Class[])}.
+     */
+    public static void warmUp(Class<?>... types) {
+        warmUp(get(), types);
+    }
+
+    /**
+     * Resolves and caches the serializers and deserializers of Feature, FeatureCollection, the geometry classes and
+     * the given types (e.g. Feature subclasses), initializes the shared factories and projections and round trips a
+     * sample collection to load the classes of the (de)serialization, so that this work is done at startup instead
+     * of during the first requests.
+     *
+     * @param types further types read or written by the mapper
+     */
+    public static void warmUp(ObjectMapper mapper, Class<?>... types) {
+        GeoUtil.getLocalGeometryFactory();
+        GeoUtil.getWgs84GeometryFactory();
+        GeoUtil.getMercatorFactory();
+        Projections.isSupported(GeoUtil.GOOGLE_MERCATOR_SRID);
+
+        List<JavaType> javaTypes = new ArrayList<>();
+        for (Class<?> type : Arrays.asList(GeoJsonObj.class, Feature.class, FeatureCollection.class, Geometry.class,
+                Crs.class, Envelope.class, Coordinate.class))
+            javaTypes.add(mapper.constructType(type));
+        JavaType collectionType = mapper.getTypeFactory().constructParametricType(FeatureCollection.class,
+                Feature.class);
+        javaTypes.add(collectionType);
+        for (Class<?> type : types)
+            javaTypes.add(mapper.constructType(type));
+
+        for (JavaType type : javaTypes) {
+            mapper.canDeserialize(type);
+            mapper.canSerialize(type.getRawClass());
+        }
+        // serializers are looked up by the runtime class of the geometry
+        for (Class<?> type : Arrays.asList(Point.class, LineString.class, LinearRing.class, Polygon.class,
+                MultiPoint.class, MultiLineString.class, MultiPolygon.class, GeometryCollection.class))
+            mapper.canSerialize(type);
+
+        Feature sample = new Feature();
+        sample.setId("warm-up");
+        sample.setGeometry(GeoUtil.getWgs84GeometryFactory().toGeometry(new Envelope(0, 1, 0, 1)));
+        sample.set("name", "warm-up");
+        try {
+            byte[] json = mapper.writeValueAsBytes(new FeatureCollection<>().add(sample));
+            mapper.readValue(json, collectionType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+
+import static geojson.GeoUtil.EarthRadiusPI;
+
+/**
+ * Spherical Google Mercator (EPSG:3857), the same math as {@link GeoUtil#mercator} and
+ * {@link GeoUtil#inverseMercator}.
+ */
+@SuppressWarnings("WeakerAccess")
+public class MercatorProjection implements Projection {
+
+    @Override
+    public int getSrid() {
+        return GeoUtil.GOOGLE_MERCATOR_SRID;
+    }
+
+    @Override
+    public void project(CoordinateSequence seq, int i) {
+        double x = seq.getOrdinate(i, CoordinateSequence.X);
+        double y = seq.getOrdinate(i, CoordinateSequence.Y);
+        seq.setOrdinate(i, CoordinateSequence.X, x * EarthRadiusPI / 180);
+        double lat = Math.log(Math.tan((90 + y) * Math.PI / 360)) / (Math.PI / 180);
+        seq.setOrdinate(i, CoordinateSequence.Y, lat * EarthRadiusPI / 180);
+    }
+
+    @Override
+    public void unproject(CoordinateSequence seq, int i) {
+        double x = seq.getOrdinate(i, CoordinateSequence.X);
+        double y = seq.getOrdinate(i, CoordinateSequence.Y);
+        seq.setOrdinate(i, CoordinateSequence.X, (x / EarthRadiusPI) * 180);
+        double lat = (y / EarthRadiusPI) * 180;
+        seq.setOrdinate(i, CoordinateSequence.Y, 180 / Math.PI * (2 * Math.atan(Math.exp(lat * Math.PI / 180)) - Math.PI / 2));
+    }
+}
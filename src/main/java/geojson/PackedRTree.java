@@ -0,0 +1,401 @@
+package geojson;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Static R-tree over boxes, bulk loaded in O(n log n) by sorting the boxes along a Hilbert curve and packing
+ * them into nodes of a fixed size. The tree is stored in flat primitive arrays and immutable after construction,
+ * so it can be queried concurrently.
+ * <p>
+ * Items are addressed by their position in the array of boxes the tree was built from.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class PackedRTree {
+
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+
+    private final int numItems;
+    private final int nodeSize;
+    // end position of each level, level 0 are the items
+    private final int[] levelBounds;
+    // minX, minY, maxX, maxY of every node
+    private final double[] boxes;
+    // item index for leaves, position of the first child for inner nodes
+    private final int[] indices;
+
+    /**
+     * Distance from a position to a box, it must never be larger than the distance to any point in the box.
+     */
+    public interface BoxDistance {
+
+        double distance(double x, double y, double minX, double minY, double maxX, double maxY);
+    }
+
+    /**
+     * Euclidean distance for planar coordinates
+     */
+    public static final BoxDistance PLANAR = new BoxDistance() {
+        @Override
+        public double distance(double x, double y, double minX, double minY, double maxX, double maxY) {
+            double dx = x < minX ? minX - x : x > maxX ? x - maxX : 0;
+            double dy = y < minY ? minY - y : y > maxY ? y - maxY : 0;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+    };
+
+    public PackedRTree(double[] itemBoxes) {
+        this(itemBoxes, DEFAULT_NODE_SIZE);
+    }
+
+    /**
+     * @param itemBoxes minX, minY, maxX, maxY for each item
+     * @param nodeSize  maximum number of children of a node
+     */
+    public PackedRTree(double[] itemBoxes, int nodeSize) {
+        if (itemBoxes.length % 4 != 0)
+            throw new IllegalArgumentException("4 values per box expected");
+
+        this.numItems = itemBoxes.length / 4;
+        this.nodeSize = nodeSize;
+        this.levelBounds = levelBounds(numItems, nodeSize);
+
+        int numNodes = levelBounds[levelBounds.length - 1];
+        this.boxes = new double[numNodes * 4];
+        this.indices = new int[numNodes];
+
+        if (numItems > 0) {
+            sortItems(itemBoxes);
+            buildLevels();
+        }
+    }
+
+    private PackedRTree(int numItems, int nodeSize, double[] boxes, int[] indices) {
+        this.numItems = numItems;
+        this.nodeSize = nodeSize;
+        this.levelBounds = levelBounds(numItems, nodeSize);
+        this.boxes = boxes;
+        this.indices = indices;
+    }
+
+    private static int[] levelBounds(int numItems, int nodeSize) {
+        if (nodeSize < 2)
+            throw new IllegalArgumentException("node size must be at least 2");
+
+        int count = numItems;
+        int numNodes = count;
+        int[] bounds = new int[32];
+        int levels = 0;
+        bounds[levels++] = numNodes;
+        while (count > 1) {
+            count = (count + nodeSize - 1) / nodeSize;
+            numNodes += count;
+            bounds[levels++] = numNodes;
+        }
+        return Arrays.copyOf(bounds, levels);
+    }
+
+    /**
+     * Writes the tree in the format of {@link #read(DataInput)}
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(numItems);
+        out.writeInt(nodeSize);
+        for (double value : boxes)
+            out.writeDouble(value);
+        for (int index : indices)
+            out.writeInt(index);
+    }
+
+    static PackedRTree read(DataInput in) throws IOException {
+        int numItems = in.readInt();
+        int nodeSize = in.readInt();
+        if (numItems < 0)
+            throw new IllegalArgumentException("invalid number of items " + numItems);
+
+        int[] bounds = levelBounds(numItems, nodeSize);
+        int numNodes = bounds[bounds.length - 1];
+        double[] boxes = new double[numNodes * 4];
+        for (int i = 0; i < boxes.length; i++)
+            boxes[i] = in.readDouble();
+        int[] indices = new int[numNodes];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = in.readInt();
+        return new PackedRTree(numItems, nodeSize, boxes, indices);
+    }
+
+    /**
+     * @return number of bytes written by {@link #write(DataOutput)}
+     */
+    static long serializedSize(int numItems, int nodeSize) {
+        int[] bounds = levelBounds(numItems, nodeSize);
+        return 8 + 36L * bounds[bounds.length - 1];
+    }
+
+    public int size() {
+        return numItems;
+    }
+
+    public int nodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * @return indices of the items whose boxes intersect the given box
+     */
+    public int[] search(double minX, double minY, double maxX, double maxY) {
+        final IntList result = new IntList();
+        search(minX, minY, maxX, maxY, new IntConsumer() {
+            @Override
+            public void accept(int value) {
+                result.add(value);
+            }
+        });
+        return result.toArray();
+    }
+
+    /**
+     * Passes the indices of the items whose boxes intersect the given box to the visitor
+     */
+    public void search(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        if (numItems == 0)
+            return;
+
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = boxes.length / 4 - 1;
+
+        while (top > 0) {
+            int node = stack[--top];
+            int b = node * 4;
+            if (boxes[b + 2] < minX || boxes[b + 3] < minY || boxes[b] > maxX || boxes[b + 1] > maxY)
+                continue;
+
+            if (node < numItems) {
+                visitor.accept(indices[node]);
+            } else {
+                int first = indices[node];
+                int end = childEnd(first);
+                for (int child = first; child < end; child++) {
+                    if (top == stack.length)
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param maxResults  maximum number of items
+     * @param maxDistance maximum distance of the items
+     * @param metric      distance from the position to a box
+     * @return indices of the nearest items ordered by their distance
+     */
+    public int[] neighbors(double x, double y, int maxResults, double maxDistance, BoxDistance metric) {
+        return neighbors(x, y, maxResults, maxDistance, metric, metric);
+    }
+
+    /**
+     * @param maxResults  maximum number of items
+     * @param maxDistance maximum distance of the items
+     * @param nodeMetric  lower bound of the distance from the position to the box of an inner node
+     * @param itemMetric  distance from the position to the box of an item, used for ordering and filtering
+     * @return indices of the nearest items ordered by their item distance
+     */
+    public int[] neighbors(double x, double y, int maxResults, double maxDistance, BoxDistance nodeMetric,
+                           BoxDistance itemMetric) {
+        IntList result = new IntList();
+        if (numItems == 0 || maxResults <= 0)
+            return result.toArray();
+
+        DistanceQueue queue = new DistanceQueue();
+        int root = boxes.length / 4 - 1;
+        BoxDistance rootMetric = root < numItems ? itemMetric : nodeMetric;
+        double rootDistance = rootMetric.distance(x, y, boxes[4 * root], boxes[4 * root + 1], boxes[4 * root + 2],
+                boxes[4 * root + 3]);
+        if (rootDistance <= maxDistance)
+            queue.push(root, rootDistance);
+
+        while (queue.size > 0) {
+            int node = queue.peekNode();
+            queue.pop();
+
+            if (node < numItems) {
+                // all nodes left in the queue are at least as far away as this item
+                result.add(indices[node]);
+                if (result.size == maxResults)
+                    break;
+                continue;
+            }
+
+            int first = indices[node];
+            int end = childEnd(first);
+            BoxDistance metric = first < numItems ? itemMetric : nodeMetric;
+            for (int child = first; child < end; child++) {
+                int b = child * 4;
+                double distance = metric.distance(x, y, boxes[b], boxes[b + 1], boxes[b + 2], boxes[b + 3]);
+                if (distance <= maxDistance)
+                    queue.push(child, distance);
+            }
+        }
+        return result.toArray();
+    }
+
+    private int childEnd(int firstChild) {
+        for (int bound : levelBounds) {
+            if (firstChild < bound)
+                return Math.min(firstChild + nodeSize, bound);
+        }
+        throw new IllegalStateException();
+    }
+
+    private void sortItems(double[] itemBoxes) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < itemBoxes.length; i += 4) {
+            minX = Math.min(minX, itemBoxes[i]);
+            minY = Math.min(minY, itemBoxes[i + 1]);
+            maxX = Math.max(maxX, itemBoxes[i + 2]);
+            maxY = Math.max(maxY, itemBoxes[i + 3]);
+        }
+        double width = maxX - minX;
+        double height = maxY - minY;
+
+        // hilbert value in the upper 32 bits, item index in the lower ones
+        long[] keys = new long[numItems];
+        for (int i = 0; i < numItems; i++) {
+            int b = i * 4;
+            double cx = (itemBoxes[b] + itemBoxes[b + 2]) / 2;
+            double cy = (itemBoxes[b + 1] + itemBoxes[b + 3]) / 2;
+            int hx = width > 0 ? (int) (HILBERT_MAX * (cx - minX) / width) : 0;
+            int hy = height > 0 ? (int) (HILBERT_MAX * (cy - minY) / height) : 0;
+            keys[i] = (hilbert(hx, hy) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        for (int pos = 0; pos < numItems; pos++) {
+            int item = (int) keys[pos];
+            System.arraycopy(itemBoxes, item * 4, boxes, pos * 4, 4);
+            indices[pos] = item;
+        }
+    }
+
+    private void buildLevels() {
+        int pos = numItems;
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int start = level == 0 ? 0 : levelBounds[level - 1];
+            int end = levelBounds[level];
+            for (int first = start; first < end; first += nodeSize) {
+                double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+                for (int child = first, last = Math.min(first + nodeSize, end); child < last; child++) {
+                    int b = child * 4;
+                    minX = Math.min(minX, boxes[b]);
+                    minY = Math.min(minY, boxes[b + 1]);
+                    maxX = Math.max(maxX, boxes[b + 2]);
+                    maxY = Math.max(maxY, boxes[b + 3]);
+                }
+                int b = pos * 4;
+                boxes[b] = minX;
+                boxes[b + 1] = minY;
+                boxes[b + 2] = maxX;
+                boxes[b + 3] = maxY;
+                indices[pos++] = first;
+            }
+        }
+    }
+
+    /**
+     * @return distance of (x, y) along a Hilbert curve over a 2^16 x 2^16 grid
+     */
+    static long hilbert(int x, int y) {
+        long d = 0;
+        for (int s = 1 << 15; s > 0; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_MAX - x;
+                    y = HILBERT_MAX - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Binary min heap of nodes by distance
+     */
+    private static final class DistanceQueue {
+
+        private int[] nodes = new int[64];
+        private double[] distances = new double[64];
+        private int size;
+
+        void push(int node, double distance) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            int pos = size++;
+            while (pos > 0) {
+                int parent = (pos - 1) >> 1;
+                if (distances[parent] <= distance)
+                    break;
+                nodes[pos] = nodes[parent];
+                distances[pos] = distances[parent];
+                pos = parent;
+            }
+            nodes[pos] = node;
+            distances[pos] = distance;
+        }
+
+        int peekNode() {
+            return nodes[0];
+        }
+
+        void pop() {
+            int lastNode = nodes[--size];
+            double lastDistance = distances[size];
+            int pos = 0;
+            int half = size >> 1;
+            while (pos < half) {
+                int child = 2 * pos + 1;
+                if (child + 1 < size && distances[child + 1] < distances[child])
+                    child++;
+                if (distances[child] >= lastDistance)
+                    break;
+                nodes[pos] = nodes[child];
+                distances[pos] = distances[child];
+                pos = child;
+            }
+            nodes[pos] = lastNode;
+            distances[pos] = lastDistance;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Deserializes the features of a FeatureCollection on multiple threads.
+ * <p>
+ * A single byte-level pass finds the byte ranges of the feature objects, it only tracks strings and nesting depth
+ * and does not tokenize the document. The ranges are grouped into chunks of about
+ * {@link #setChunkSize(int) chunkSize} bytes, the chunks are deserialized by the executor and the features are
+ * reassembled in document order. The other members of the collection are bound as
+ * usual, the collection crs applies to the features as in {@link GeoJsonObjDeserializer}.
+ * <pre>
+ * FeatureCollection&lt;Feature&gt; collection = new ParallelFeatureCollectionReader().read(path, Feature.class);
+ * </pre>
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ParallelFeatureCollectionReader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final ObjectMapper mapper;
+    private final ExecutorService executor;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public ParallelFeatureCollectionReader() {
+        this(Mapper.get(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the chunks, it is not shut down by this reader
+     */
+    public ParallelFeatureCollectionReader(ObjectMapper mapper, ExecutorService executor) {
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param chunkSize approximate number of bytes of the features deserialized by one task
+     */
+    public ParallelFeatureCollectionReader setChunkSize(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunk size must be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Reads the file through memory-mapped regions, so files larger than 2 GB can be read. Only the collection
+     * members and one chunk per task are copied to the heap.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Feature> FeatureCollection<T> read(Path path, Class<T> featureType) throws IOException {
+        return read(path, (Class<FeatureCollection<T>>) (Class<?>) FeatureCollection.class, featureType);
+    }
+
+    /**
+     * @param collectionType the FeatureCollection (sub)class, its "features" are set from the parallel result
+     */
+    public <T extends Feature, C extends FeatureCollection<T>> C read(Path path, Class<C> collectionType,
+                                                                      Class<T> featureType) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(new MappedSource(channel), collectionType, featureType);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Feature> FeatureCollection<T> read(byte[] json, Class<T> featureType) throws IOException {
+        return read(json, (Class<FeatureCollection<T>>) (Class<?>) FeatureCollection.class, featureType);
+    }
+
+    /**
+     * @param collectionType the FeatureCollection (sub)class, its "features" are set from the parallel result
+     */
+    public <T extends Feature, C extends FeatureCollection<T>> C read(byte[] json, Class<C> collectionType,
+                                                                      Class<T> featureType) throws IOException {
+        return read(new ArraySource(json), collectionType, featureType);
+    }
+
+    private <T extends Feature, C extends FeatureCollection<T>> C read(Source source, Class<C> collectionType,
+                                                                       Class<T> featureType) throws IOException {
+        Scanner scanner = new Scanner();
+        source.scan(scanner);
+        Ranges ranges = scanner.finish();
+
+        // the collection members without the features, i.e. with an empty "features" array
+        long membersSize = source.size() - (ranges.featuresEnd - ranges.featuresStart);
+        if (membersSize > Integer.MAX_VALUE)
+            throw new IOException("members of the FeatureCollection are larger than 2 GB");
+        ByteArrayOutputStream members = new ByteArrayOutputStream((int) membersSize);
+        source.slice(0, ranges.featuresStart).writeTo(members);
+        source.slice(ranges.featuresEnd, source.size()).writeTo(members);
+        C collection = mapper.readValue(members.toByteArray(), collectionType);
+        if (!ranges.found)
+            // no "features" array, or a member name with escapes: bound with the other members
+            return collection;
+
+        // with compact properties the features share the key dictionary of the collection
+        PropertyKeys keys = collection.getPropertyKeys();
+        ObjectReader featureReader = mapper.readerFor(featureType)
+                .withAttribute(GeoJsonObjDeserializer.PROPERTY_KEYS_ATTRIBUTE, keys != null ? keys : new PropertyKeys());
+        if (collection.getCrs() != null && collection.getCrs().getSrid() != 0)
+            featureReader = featureReader.withAttribute(GeometryJsonDeserializer.SRID_ATTRIBUTE,
+                    collection.getCrs().getSrid());
+
+        collection.setFeatures(readFeatures(source, ranges, featureReader));
+        return collection;
+    }
+
+    private <T extends Feature> List<T> readFeatures(final Source source, final Ranges ranges,
+                                                     final ObjectReader featureReader) throws IOException {
+        List<Future<List<T>>> chunks = new ArrayList<>();
+        int first = 0;
+        while (first < ranges.size) {
+            int last = first + 1;
+            long limit = ranges.starts[first] + chunkSize;
+            while (last < ranges.size && ranges.ends[last] <= limit)
+                last++;
+
+            final int from = first, to = last;
+            chunks.add(executor.submit(new Callable<List<T>>() {
+                @Override
+                public List<T> call() throws Exception {
+                    Slice slice = source.slice(ranges.starts[from], ranges.ends[to - 1]);
+                    List<T> features = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++)
+                        features.add(featureReader.<T>readValue(slice.bytes, slice.offset(ranges.starts[i]),
+                                (int) (ranges.ends[i] - ranges.starts[i])));
+                    return features;
+                }
+            }));
+            first = last;
+        }
+
+        List<T> features = new ArrayList<>(ranges.size);
+        try {
+            for (Future<List<T>> chunk : chunks)
+                features.addAll(chunk.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while reading features", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            if (e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<List<T>> chunk : chunks)
+                chunk.cancel(false);
+        }
+        return features;
+    }
+
+    /**
+     * The bytes of the document
+     */
+    private interface Source {
+
+        long size();
+
+        /**
+         * Feeds all bytes to the scanner in document order
+         */
+        void scan(Scanner scanner) throws IOException;
+
+        /**
+         * @return the bytes from start (inclusive) to end (exclusive), not necessarily a copy
+         */
+        Slice slice(long start, long end) throws IOException;
+    }
+
+    private static final class ArraySource implements Source {
+
+        private final byte[] json;
+
+        ArraySource(byte[] json) {
+            this.json = json;
+        }
+
+        @Override
+        public long size() {
+            return json.length;
+        }
+
+        @Override
+        public void scan(Scanner scanner) {
+            scanner.scan(json, 0, json.length, 0);
+        }
+
+        @Override
+        public Slice slice(long start, long end) {
+            return new Slice(json, 0, (int) start, (int) (end - start));
+        }
+    }
+
+    /**
+     * A file mapped in regions of at most {@link MappedInputStream#DEFAULT_REGION_SIZE} bytes. The scan copies
+     * small blocks of a region at a time, slices are copied from a mapping of their range.
+     */
+    private static final class MappedSource implements Source {
+
+        private static final int BLOCK_SIZE = 1 << 16;
+
+        private final FileChannel channel;
+        private final long size;
+
+        MappedSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void scan(Scanner scanner) throws IOException {
+            byte[] block = new byte[BLOCK_SIZE];
+            for (long regionStart = 0; regionStart < size; regionStart += MappedInputStream.DEFAULT_REGION_SIZE) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                        Math.min(MappedInputStream.DEFAULT_REGION_SIZE, size - regionStart));
+                while (region.hasRemaining()) {
+                    long offset = regionStart + region.position();
+                    int n = Math.min(block.length, region.remaining());
+                    region.get(block, 0, n);
+                    scanner.scan(block, 0, n, offset);
+                }
+            }
+        }
+
+        @Override
+        public Slice slice(long start, long end) throws IOException {
+            if (end - start > Integer.MAX_VALUE)
+                throw new IOException("feature at byte " + start + " is larger than 2 GB");
+            byte[] bytes = new byte[(int) (end - start)];
+            if (bytes.length > 0)
+                channel.map(FileChannel.MapMode.READ_ONLY, start, bytes.length).get(bytes);
+            return new Slice(bytes, start, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Bytes of a source range in an array: position p of the document is at bytes[p - base]
+     */
+    private static final class Slice {
+
+        final byte[] bytes;
+        final long base;
+        final int off;
+        final int len;
+
+        Slice(byte[] bytes, long base, int off, int len) {
+            this.bytes = bytes;
+            this.base = base;
+            this.off = off;
+            this.len = len;
+        }
+
+        int offset(long position) {
+            return (int) (position - base);
+        }
+
+        void writeTo(ByteArrayOutputStream out) {
+            out.write(bytes, off, len);
+        }
+    }
+
+    /**
+     * Finds the byte ranges of the feature objects and of the content of the "features" member of the root object
+     * by tracking strings and nesting depth, without tokenizing numbers, literals or the members of the features.
+     * The syntax is validated by the parsers of the collection members and the features.
+     */
+    private static final class Scanner {
+
+        private static final byte[] FEATURES = "\"features\"".getBytes(StandardCharsets.UTF_8);
+
+        private final Ranges ranges = new Ranges();
+        private int depth;
+        private boolean started;
+        private boolean inString;
+        private boolean escaped;
+        // position in FEATURES of the key of the root object being read, -1 if it does not match
+        private int keyMatch = -1;
+        private boolean expectKey;
+        private boolean featuresKey;
+        private boolean featuresValue;
+        // nesting depth of the content of the "features" array, 0 outside of it
+        private int featuresDepth;
+        private boolean featuresDone;
+        private long featureStart;
+
+        void scan(byte[] bytes, int from, int to, long base) {
+            for (int i = from; i < to; i++) {
+                byte b = bytes[i];
+                if (inString) {
+                    if (keyMatch >= 0)
+                        keyMatch = keyMatch < FEATURES.length && FEATURES[keyMatch] == b ? keyMatch + 1 : -1;
+                    if (escaped)
+                        escaped = false;
+                    else if (b == '\\')
+                        escaped = true;
+                    else if (b == '"') {
+                        inString = false;
+                        featuresKey = keyMatch == FEATURES.length;
+                        keyMatch = -1;
+                    }
+                    continue;
+                }
+                if (b == ' ' || b == '\n' || b == '\r' || b == '\t')
+                    continue;
+
+                if (!started) {
+                    // UTF-8 byte order mark
+                    if (base + i < 3 && (b == (byte) 0xEF || b == (byte) 0xBB || b == (byte) 0xBF))
+                        continue;
+                    if (b != '{')
+                        throw new IllegalArgumentException("FeatureCollection object expected but was '"
+                                + (char) b + "'");
+                    started = true;
+                }
+
+                if (depth == 1) {
+                    if (expectKey && b == '"') {
+                        keyMatch = 1;
+                        expectKey = false;
+                    } else if (b == ':') {
+                        featuresValue = featuresKey && !featuresDone;
+                        featuresKey = false;
+                        continue;
+                    } else if (b == ',') {
+                        expectKey = true;
+                    } else if (featuresValue) {
+                        featuresValue = false;
+                        if (b == '[') {
+                            ranges.found = true;
+                            featuresDepth = 2;
+                            ranges.featuresStart = base + i + 1;
+                            depth++;
+                            continue;
+                        }
+                    }
+                } else if (featuresDepth > 0 && depth == featuresDepth) {
+                    if (b == '{')
+                        featureStart = base + i;
+                    else if (b == ']') {
+                        ranges.featuresEnd = base + i;
+                        featuresDepth = 0;
+                        featuresDone = true;
+                    } else if (b != ',' && b != 'n' && b != 'u' && b != 'l')
+                        throw new IllegalArgumentException("Feature object expected at byte " + (base + i));
+                }
+
+                if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                    if (depth == 1)
+                        expectKey = true;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (featuresDepth > 0 && depth == featuresDepth && b == '}')
+                        ranges.add(featureStart, base + i + 1);
+                }
+            }
+        }
+
+        Ranges finish() {
+            if (!started || depth != 0 || inString)
+                throw new IllegalArgumentException("incomplete FeatureCollection object");
+            return ranges;
+        }
+    }
+
+    private static final class Ranges {
+
+        boolean found;
+        long featuresStart;
+        long featuresEnd;
+        long[] starts = new long[256];
+        long[] ends = new long[256];
+        int size;
+
+        void add(long start, long end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size++] = end;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package geojson;
+
+import com.vividsolutions.jts.algorithm.locate.IndexedPointInAreaLocator;
+import com.vividsolutions.jts.algorithm.locate.PointOnGeometryLocator;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.Location;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.Polygonal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the polygon features covering a point. A {@link PackedRTree} over the feature bounding boxes selects the
+ * candidates, an indexed point-in-area locator per feature (the structure behind JTS prepared polygons) tests them
+ * in O(log n) of the polygon's segments.
+ * <p>
+ * All structures are built by the constructor and only read by the queries, an index can be shared by threads.
+ * Features without a Polygon or MultiPolygon geometry are not indexed, that includes geometry collections of
+ * polygons. Points on the boundary of a polygon are covered by it.
+ *
+ * @param <T> the Feature type
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class PointInPolygonIndex<T extends Feature> {
+
+    private final List<T> features;
+    private final PointOnGeometryLocator[] locators;
+    private final PackedRTree tree;
+
+    public PointInPolygonIndex(FeatureCollection<T> collection) {
+        this(collection.getFeatures());
+    }
+
+    public PointInPolygonIndex(Iterable<T> features) {
+        List<T> indexed = new ArrayList<>();
+        List<PointOnGeometryLocator> locators = new ArrayList<>();
+        double[] boxes = new double[64];
+        for (T feature : features) {
+            Geometry geometry = feature.getGeometry();
+            if (!(geometry instanceof Polygonal) || geometry.isEmpty())
+                continue;
+
+            IndexedPointInAreaLocator locator = new IndexedPointInAreaLocator(geometry);
+            // builds the lazily created segment index before the locator is shared
+            Envelope bbox = geometry.getEnvelopeInternal();
+            locator.locate(new Coordinate(bbox.getMinX(), bbox.getMinY()));
+
+            if (4 * indexed.size() + 4 > boxes.length)
+                boxes = Arrays.copyOf(boxes, boxes.length * 2);
+            int b = 4 * indexed.size();
+            boxes[b] = bbox.getMinX();
+            boxes[b + 1] = bbox.getMinY();
+            boxes[b + 2] = bbox.getMaxX();
+            boxes[b + 3] = bbox.getMaxY();
+            indexed.add(feature);
+            locators.add(locator);
+        }
+        this.features = Collections.unmodifiableList(indexed);
+        this.locators = locators.toArray(new PointOnGeometryLocator[locators.size()]);
+        this.tree = new PackedRTree(Arrays.copyOf(boxes, 4 * indexed.size()));
+    }
+
+    /**
+     * @return the indexed polygon features
+     */
+    public List<T> getFeatures() {
+        return features;
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    public T find(Point point) {
+        return find(point.getX(), point.getY());
+    }
+
+    /**
+     * @return the first feature (in the order of the indexed features) covering the position or null
+     */
+    public T find(double x, double y) {
+        Coordinate c = new Coordinate(x, y);
+        int first = Integer.MAX_VALUE;
+        for (int i : tree.search(x, y, x, y)) {
+            if (i < first && locators[i].locate(c) != Location.EXTERIOR)
+                first = i;
+        }
+        return first == Integer.MAX_VALUE ? null : features.get(first);
+    }
+
+    public List<T> findAll(Point point) {
+        return findAll(point.getX(), point.getY());
+    }
+
+    /**
+     * @return all features covering the position, in the order of the indexed features
+     */
+    public List<T> findAll(double x, double y) {
+        Coordinate c = new Coordinate(x, y);
+        int[] candidates = tree.search(x, y, x, y);
+        Arrays.sort(candidates);
+        List<T> result = new ArrayList<>();
+        for (int i : candidates) {
+            if (locators[i].locate(c) != Location.EXTERIOR)
+                result.add(features.get(i));
+        }
+        return result;
+    }
+}
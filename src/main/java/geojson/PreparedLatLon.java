@@ -0,0 +1,149 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Point;
+
+import static geojson.GeoUtil.EarthRadius;
+import static geojson.GeoUtil.EarthRadiusPI;
+
+/**
+ * A WGS84 position with its trigonometric values computed once, for repeated geodesic queries against the same
+ * origin (e.g. radius searches or fleet tracking). The results match {@link GeoUtil#haversineDistance},
+ * {@link GeoUtil#bearingDeg}, {@link GeoUtil#destinationPoint} and {@link GeoUtil#wgs84DistanceX}, while the
+ * origin's sin/cos are not evaluated again. Between two prepared positions distance and bearing need no
+ * trigonometric function except the final asin/atan2.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PreparedLatLon {
+
+    private final double lon;
+    private final double lat;
+
+    private final double phi;
+    private final double lambda;
+    private final double sinPhi;
+    private final double cosPhi;
+    private final double sinLambda;
+    private final double cosLambda;
+
+    // unit vector on the sphere
+    private final double x;
+    private final double y;
+    private final double z;
+
+    public PreparedLatLon(double lon, double lat) {
+        this.lon = lon;
+        this.lat = lat;
+        this.phi = Math.toRadians(lat);
+        this.lambda = Math.toRadians(lon);
+        this.sinPhi = Math.sin(phi);
+        this.cosPhi = Math.cos(phi);
+        this.sinLambda = Math.sin(lambda);
+        this.cosLambda = Math.cos(lambda);
+        this.x = cosPhi * cosLambda;
+        this.y = cosPhi * sinLambda;
+        this.z = sinPhi;
+    }
+
+    /**
+     * @param point point in any supported SRID, converted to WGS84 if necessary
+     */
+    public static PreparedLatLon of(Point point) {
+        Point p = GeoUtil.asWgs84(point);
+        return new PreparedLatLon(p.getX(), p.getY());
+    }
+
+    public double getLon() {
+        return lon;
+    }
+
+    public double getLat() {
+        return lat;
+    }
+
+    public double getCosLat() {
+        return cosPhi;
+    }
+
+    /**
+     * @return great-circle distance in meters to a WGS84 position
+     */
+    public double distance(double lon, double lat) {
+        final double phi2 = Math.toRadians(lat);
+        final double sinDPhi = Math.sin((phi2 - phi) / 2);
+        final double sinDLambda = Math.sin(Math.toRadians(lon - this.lon) / 2);
+        final double a = sinDPhi * sinDPhi + cosPhi * Math.cos(phi2) * sinDLambda * sinDLambda;
+        return 2 * EarthRadius * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * @return great-circle distance in meters to another prepared position
+     */
+    public double distance(PreparedLatLon other) {
+        final double dx = other.x - x;
+        final double dy = other.y - y;
+        final double dz = other.z - z;
+        return 2 * EarthRadius * Math.asin(Math.min(1, Math.sqrt(dx * dx + dy * dy + dz * dz) / 2));
+    }
+
+    /**
+     * @return initial bearing in degrees (0 - 360) to a WGS84 position
+     */
+    public double bearingDeg(double lon, double lat) {
+        if (lon == this.lon && lat == this.lat)
+            return 0;
+        final double phi2 = Math.toRadians(lat);
+        final double dLambda = Math.toRadians(lon) - lambda;
+        final double cosPhi2 = Math.cos(phi2);
+        return normalizedBearing(Math.sin(dLambda) * cosPhi2,
+                cosPhi * Math.sin(phi2) - sinPhi * cosPhi2 * Math.cos(dLambda));
+    }
+
+    /**
+     * Uses the cached sin/cos of both longitudes, so for positions only meters apart the result may differ from
+     * {@link GeoUtil#bearingDeg} by up to 1e-6°.
+     *
+     * @return initial bearing in degrees (0 - 360) to another prepared position
+     */
+    public double bearingDeg(PreparedLatLon other) {
+        if (other.lon == lon && other.lat == lat)
+            return 0;
+        final double sinDLambda = other.sinLambda * cosLambda - other.cosLambda * sinLambda;
+        final double cosDLambda = other.cosLambda * cosLambda + other.sinLambda * sinLambda;
+        return normalizedBearing(sinDLambda * other.cosPhi,
+                cosPhi * other.sinPhi - sinPhi * other.cosPhi * cosDLambda);
+    }
+
+    /**
+     * @return WGS84 point at the distance and bearing from this position
+     */
+    public Point destinationPoint(double distanceMeters, double bearingDeg) {
+        final double dist = distanceMeters / EarthRadius;
+        final double sinDist = Math.sin(dist);
+        final double cosDist = Math.cos(dist);
+        final double bearingRad = Math.toRadians(bearingDeg);
+
+        final double lat2 = Math.asin(sinPhi * cosDist + cosPhi * sinDist * Math.cos(bearingRad));
+        final double lon2 = lambda + Math.atan2(Math.sin(bearingRad) * sinDist * cosPhi, cosDist - sinPhi * Math.sin(lat2));
+
+        return GeoUtil.asWgs84(Math.toDegrees(lon2), Math.toDegrees(lat2));
+    }
+
+    /**
+     * @return longitude difference in degrees of a metric distance along the latitude of this position
+     */
+    public double wgs84DistanceX(double metricDistance) {
+        return (metricDistance / EarthRadiusPI) * 180 / cosPhi;
+    }
+
+    private static double normalizedBearing(double a, double b) {
+        final double bearing = Math.toDegrees(Math.atan2(a, b));
+        return (bearing + 360) % 360; // normalize
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedLatLon(" + lon + ", " + lat + ")";
+    }
+}
@@ -0,0 +1,34 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+
+/**
+ * A map projection between WGS84 lon/lat and the coordinates of one SRID. Implementations work on the ordinates
+ * of CoordinateSequences in place and have to be thread-safe. Register own implementations with
+ * {@link Projections#register(Projection)}.
+ */
+@SuppressWarnings("WeakerAccess")
+public interface Projection {
+
+    int getSrid();
+
+    /**
+     * Projects coordinate i of the sequence from WGS84 lon/lat to this projection
+     */
+    void project(CoordinateSequence seq, int i);
+
+    /**
+     * Converts coordinate i of the sequence from this projection to WGS84 lon/lat
+     */
+    void unproject(CoordinateSequence seq, int i);
+
+    default void project(CoordinateSequence seq) {
+        for (int i = 0, size = seq.size(); i < size; i++)
+            project(seq, i);
+    }
+
+    default void unproject(CoordinateSequence seq) {
+        for (int i = 0, size = seq.size(); i < size; i++)
+            unproject(seq, i);
+    }
+}
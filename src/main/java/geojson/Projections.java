@@ -0,0 +1,116 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.CoordinateSequenceFilter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the {@link Projection}s by SRID and cache of the transforms between two SRIDs.
+ * <p>
+ * Built in: WGS84 (4326), Google Mercator (3857), UTM zones (32601-32660, 32701-32760, ETRS89 25828-25838) and
+ * ETRS89 LAEA Europe (3035). Transforms between two projections go through WGS84 lon/lat.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class Projections {
+
+    private static final ConcurrentMap<Integer, Projection> projections = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Long, Transform> transforms = new ConcurrentHashMap<>();
+
+    static {
+        register(new MercatorProjection());
+        register(new LaeaProjection());
+    }
+
+    private Projections() {
+    }
+
+    /**
+     * Registers a projection, replacing an existing one for the same SRID
+     */
+    public static void register(Projection projection) {
+        if (projection.getSrid() == GeoUtil.WGS84_SRID)
+            throw new IllegalArgumentException("WGS84 is the base of all projections and can not be replaced");
+        projections.put(projection.getSrid(), projection);
+        transforms.clear();
+    }
+
+    /**
+     * @return the projection of the SRID or null if the SRID is WGS84 or not supported
+     */
+    public static Projection get(int srid) {
+        Projection projection = projections.get(srid);
+        if (projection == null) {
+            projection = UtmProjection.forSrid(srid);
+            if (projection != null) {
+                projections.putIfAbsent(srid, projection);
+                projection = projections.get(srid);
+            }
+        }
+        return projection;
+    }
+
+    public static boolean isSupported(int srid) {
+        return srid == GeoUtil.WGS84_SRID || get(srid) != null;
+    }
+
+    /**
+     * @return the cached transform from one SRID to another, applicable to geometries with Geometry.apply()
+     * @throws IllegalArgumentException if one of the SRIDs is not supported
+     */
+    public static Transform transform(int fromSrid, int toSrid) {
+        long key = ((long) fromSrid << 32) | (toSrid & 0xffffffffL);
+        Transform transform = transforms.get(key);
+        if (transform == null) {
+            Projection from = fromSrid == GeoUtil.WGS84_SRID ? null : get(fromSrid);
+            Projection to = toSrid == GeoUtil.WGS84_SRID ? null : get(toSrid);
+            if (fromSrid == toSrid || (from == null && fromSrid != GeoUtil.WGS84_SRID)
+                    || (to == null && toSrid != GeoUtil.WGS84_SRID))
+                throw new IllegalArgumentException("Projection from " + fromSrid + " to " + toSrid + " not supported.");
+
+            transforms.putIfAbsent(key, new Transform(from, to));
+            transform = transforms.get(key);
+        }
+        return transform;
+    }
+
+    /**
+     * Transforms the coordinates of a sequence in place from one projection to another, resolved once by
+     * {@link Projections#transform(int, int)}.
+     */
+    public static final class Transform implements CoordinateSequenceFilter {
+
+        // null stands for WGS84
+        private final Projection from;
+        private final Projection to;
+
+        private Transform(Projection from, Projection to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public void transform(CoordinateSequence seq) {
+            for (int i = 0, size = seq.size(); i < size; i++)
+                filter(seq, i);
+        }
+
+        @Override
+        public void filter(CoordinateSequence seq, int i) {
+            if (from != null)
+                from.unproject(seq, i);
+            if (to != null)
+                to.project(seq, i);
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public boolean isGeometryChanged() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package geojson;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dictionary of property keys shared by the {@link CompactProperties} of many features, e.g. of one
+ * FeatureCollection. Each key is stored once and identified by a small int id. Keys are only added, never removed,
+ * so ids stay valid. Thread safe.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class PropertyKeys implements Serializable {
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[16];
+    private int size;
+
+    /**
+     * @return id of the key, added if the key is new
+     */
+    public int id(String key) {
+        Integer id = ids.get(key);
+        if (id != null)
+            return id;
+        synchronized (this) {
+            id = ids.get(key);
+            if (id != null)
+                return id;
+            String[] keys = this.keys;
+            if (size == keys.length)
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            keys[size] = key;
+            // publish the key before its id
+            this.keys = keys;
+            ids.put(key, size);
+            return size++;
+        }
+    }
+
+    /**
+     * @return id of the key or -1 if the key was never added
+     */
+    public int find(Object key) {
+        if (!(key instanceof String))
+            return -1;
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id id returned by {@link #id(String)}
+     * @return the key
+     */
+    public String key(int id) {
+        return keys[id];
+    }
+
+    /**
+     * @return number of keys
+     */
+    public int size() {
+        return ids.size();
+    }
+}
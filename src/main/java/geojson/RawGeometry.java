@@ -0,0 +1,99 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+
+/**
+ * The "geometry" member of a Feature as read from the input: either the decoded geometry or, with lazy geometries
+ * (see {@link GeoJacksonModule#setLazyGeometries(boolean)}), the GeoJSON text of the geometry and the factory it is
+ * decoded with on first access. Undecoded geometries are written back as they were read if the output is GeoJSON
+ * text, see {@link #serialize}.
+ */
+public final class RawGeometry implements JsonSerializable, Serializable {
+
+    static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final GeometryJsonDeserializer DECODER = new GeometryJsonDeserializer();
+
+    private final Geometry geometry;
+    private final String json;
+    private final GeometryFactory factory;
+
+    private RawGeometry(Geometry geometry, String json, GeometryFactory factory) {
+        this.geometry = geometry;
+        this.json = json;
+        this.factory = factory;
+    }
+
+    static RawGeometry decoded(Geometry geometry) {
+        return new RawGeometry(geometry, null, null);
+    }
+
+    /**
+     * @param json    GeoJSON geometry object
+     * @param factory factory of the decoded geometry
+     */
+    static RawGeometry lazy(String json, GeometryFactory factory) {
+        return new RawGeometry(null, json, factory);
+    }
+
+    boolean isDecoded() {
+        return json == null;
+    }
+
+    GeometryFactory getFactory() {
+        return factory;
+    }
+
+    RawGeometry withFactory(GeometryFactory factory) {
+        return isDecoded() ? this : new RawGeometry(null, json, factory);
+    }
+
+    /**
+     * @return the geometry, decoded by every call for lazy geometries
+     */
+    Geometry decode() {
+        if (isDecoded())
+            return geometry;
+        try (JsonParser jp = JSON_FACTORY.createParser(json)) {
+            jp.nextToken();
+            return DECODER.geometry(jp, new GeometryJsonDeserializer.Ordinates(factory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The GeoJSON text is passed through only if it is what the geometry serializer would write: geometries are
+     * serialized as GeoJSON objects (no {@link GeometryCodec}) and the output is textual JSON. Otherwise the geometry
+     * is decoded and serialized as usual.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (!isDecoded() && gen instanceof JsonGeneratorImpl && isGeoJson(serializers))
+            gen.writeRawValue(json);
+        else
+            serializers.defaultSerializeValue(decode(), gen);
+    }
+
+    private static boolean isGeoJson(SerializerProvider serializers) throws IOException {
+        Object serializer = serializers.findValueSerializer(Geometry.class, null);
+        return serializer instanceof GeometryJsonSerializer;
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,95 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Deserializes the "geometry" member of features. Eagerly it delegates to the {@link GeometryJsonDeserializer},
+ * lazily it copies the tokens of the geometry object to its GeoJSON text without parsing numbers or creating
+ * coordinates. The factory is chosen like for eager geometries, by the crs at the time the geometry is read.
+ */
+@SuppressWarnings("WeakerAccess")
+public class RawGeometryJsonDeserializer extends JsonDeserializer<RawGeometry> {
+
+    private final GeometryJsonDeserializer geometryDeserializer;
+    private final int defaultSrid;
+    private final boolean lazy;
+
+    public RawGeometryJsonDeserializer(GeometryJsonDeserializer geometryDeserializer, int defaultSrid, boolean lazy) {
+        this.geometryDeserializer = geometryDeserializer;
+        this.defaultSrid = defaultSrid;
+        this.lazy = lazy;
+    }
+
+    @Override
+    public RawGeometry deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException,
+            JsonProcessingException {
+        if (!lazy || jp.getCurrentToken() != JsonToken.START_OBJECT)
+            return RawGeometry.decoded(geometryDeserializer.deserialize(jp, ctxt));
+
+        StringWriter json = new StringWriter(256);
+        try (JsonGenerator gen = RawGeometry.JSON_FACTORY.createGenerator(json)) {
+            copy(jp, gen);
+        }
+        return RawGeometry.lazy(json.toString(), geometryDeserializer.factory(ctxt, defaultSrid));
+    }
+
+    /**
+     * Copies the current structure like JsonGenerator.copyCurrentStructure but writes numbers as their text
+     */
+    private static void copy(JsonParser jp, JsonGenerator gen) throws IOException {
+        int depth = 0;
+        JsonToken token = jp.getCurrentToken();
+        while (true) {
+            switch (token) {
+                case START_OBJECT:
+                    gen.writeStartObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    gen.writeEndObject();
+                    depth--;
+                    break;
+                case START_ARRAY:
+                    gen.writeStartArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    gen.writeEndArray();
+                    depth--;
+                    break;
+                case FIELD_NAME:
+                    gen.writeFieldName(jp.getCurrentName());
+                    break;
+                case VALUE_STRING:
+                    gen.writeString(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    gen.writeRawValue(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+                    break;
+                case VALUE_TRUE:
+                    gen.writeBoolean(true);
+                    break;
+                case VALUE_FALSE:
+                    gen.writeBoolean(false);
+                    break;
+                case VALUE_NULL:
+                    gen.writeNull();
+                    break;
+                default:
+                    throw new IllegalArgumentException("unexpected token in geometry " + token);
+            }
+            if (depth == 0)
+                return;
+            token = jp.nextToken();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.*;
+
+import java.util.Arrays;
+
+/**
+ * Tiny well-known binary (TWKB): coordinates are rounded to a number of decimal digits, delta encoded and written
+ * as zigzag varints, typically a fraction of the size of WKB.
+ * <p>
+ * The decimal digits come from the {@link CoordinatePrecision} for the SRID of the geometry. TWKB supports at most
+ * 7 digits, more digits and {@link CoordinatePrecision#FULL} are encoded with 7 digits. Bounding boxes, sizes and
+ * id lists are not written and skipped when reading, M ordinates are not supported.
+ */
+@SuppressWarnings("WeakerAccess")
+public class TwkbGeometryCodec implements GeometryCodec {
+
+    public static final int MAX_DECIMALS = 7;
+
+    private static final int POINT = 1;
+    private static final int LINESTRING = 2;
+    private static final int POLYGON = 3;
+    private static final int MULTIPOINT = 4;
+    private static final int MULTILINESTRING = 5;
+    private static final int MULTIPOLYGON = 6;
+    private static final int GEOMETRYCOLLECTION = 7;
+
+    private static final int EXTENDED_DIMENSIONS = 0x08;
+    private static final int EMPTY = 0x10;
+
+    private final CoordinatePrecision precision;
+
+    public TwkbGeometryCodec() {
+        this(new CoordinatePrecision());
+    }
+
+    /**
+     * @param decimals decimal digits of the coordinates of all SRIDs
+     */
+    public TwkbGeometryCodec(int decimals) {
+        this(new CoordinatePrecision().setDecimals(decimals));
+    }
+
+    public TwkbGeometryCodec(CoordinatePrecision precision) {
+        this.precision = precision;
+    }
+
+    @Override
+    public byte[] encode(Geometry geometry) {
+        int decimals = precision.getDecimals(geometry.getSRID());
+        if (decimals == CoordinatePrecision.FULL || decimals > MAX_DECIMALS)
+            decimals = MAX_DECIMALS;
+
+        Encoder encoder = new Encoder(decimals);
+        encoder.geometry(geometry);
+        return encoder.toByteArray();
+    }
+
+    @Override
+    public Geometry decode(byte[] bytes, GeometryFactory factory) {
+        try {
+            return new Decoder(bytes, factory).geometry();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("invalid TWKB: unexpected end of input", e);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Encoder {
+
+        private final int decimals;
+        private final double scale;
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        private boolean hasZ;
+        private long lastX, lastY, lastZ;
+
+        Encoder(int decimals) {
+            this.decimals = decimals;
+            this.scale = Math.pow(10, decimals);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void geometry(Geometry geometry) {
+            int type = type(geometry);
+            boolean empty = geometry.isEmpty();
+            Coordinate first = geometry.getCoordinate();
+            hasZ = first != null && !Double.isNaN(first.z);
+
+            writeByte((int) (zigzag(decimals) << 4) | type);
+            writeByte((hasZ ? EXTENDED_DIMENSIONS : 0) | (empty ? EMPTY : 0));
+            if (hasZ)
+                writeByte(0x01 | decimals << 2);
+            if (empty)
+                return;
+
+            lastX = lastY = lastZ = 0;
+            switch (type) {
+                case POINT:
+                    coordinates(((Point) geometry).getCoordinateSequence(), false);
+                    break;
+                case LINESTRING:
+                    coordinates(((LineString) geometry).getCoordinateSequence(), true);
+                    break;
+                case POLYGON:
+                    polygon((Polygon) geometry);
+                    break;
+                case MULTIPOINT:
+                    writeVarint(geometry.getNumGeometries());
+                    for (int i = 0; i < geometry.getNumGeometries(); i++)
+                        coordinates(((Point) geometry.getGeometryN(i)).getCoordinateSequence(), false);
+                    break;
+                case MULTILINESTRING:
+                    writeVarint(geometry.getNumGeometries());
+                    for (int i = 0; i < geometry.getNumGeometries(); i++)
+                        coordinates(((LineString) geometry.getGeometryN(i)).getCoordinateSequence(), true);
+                    break;
+                case MULTIPOLYGON:
+                    writeVarint(geometry.getNumGeometries());
+                    for (int i = 0; i < geometry.getNumGeometries(); i++)
+                        polygon((Polygon) geometry.getGeometryN(i));
+                    break;
+                default:
+                    writeVarint(geometry.getNumGeometries());
+                    for (int i = 0; i < geometry.getNumGeometries(); i++)
+                        geometry(geometry.getGeometryN(i));
+            }
+        }
+
+        private void polygon(Polygon polygon) {
+            if (polygon.isEmpty()) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(polygon.getNumInteriorRing() + 1);
+            coordinates(polygon.getExteriorRing().getCoordinateSequence(), true);
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++)
+                coordinates(polygon.getInteriorRingN(i).getCoordinateSequence(), true);
+        }
+
+        private void coordinates(CoordinateSequence sequence, boolean withCount) {
+            int n = sequence.size();
+            if (withCount)
+                writeVarint(n);
+            for (int i = 0; i < n; i++) {
+                long x = Math.round(sequence.getOrdinate(i, CoordinateSequence.X) * scale);
+                long y = Math.round(sequence.getOrdinate(i, CoordinateSequence.Y) * scale);
+                writeVarint(zigzag(x - lastX));
+                writeVarint(zigzag(y - lastY));
+                lastX = x;
+                lastY = y;
+                if (hasZ) {
+                    double zValue = sequence.getDimension() > 2 ? sequence.getOrdinate(i, CoordinateSequence.Z) : 0;
+                    long z = Math.round((Double.isNaN(zValue) ? 0 : zValue) * scale);
+                    writeVarint(zigzag(z - lastZ));
+                    lastZ = z;
+                }
+            }
+        }
+
+        private void writeByte(int b) {
+            if (size == bytes.length)
+                bytes = Arrays.copyOf(bytes, size * 2);
+            bytes[size++] = (byte) b;
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private static int type(Geometry geometry) {
+            switch (geometry.getGeometryType()) {
+                case "Point":
+                    return POINT;
+                case "LineString":
+                case "LinearRing":
+                    return LINESTRING;
+                case "Polygon":
+                    return POLYGON;
+                case "MultiPoint":
+                    return MULTIPOINT;
+                case "MultiLineString":
+                    return MULTILINESTRING;
+                case "MultiPolygon":
+                    return MULTIPOLYGON;
+                case "GeometryCollection":
+                    return GEOMETRYCOLLECTION;
+                default:
+                    throw new IllegalArgumentException("unsupported geometry type " + geometry.getGeometryType());
+            }
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] bytes;
+        private final GeometryFactory factory;
+        private int position;
+
+        private int dimension;
+        private double scale, zScale;
+        private long lastX, lastY, lastZ;
+
+        Decoder(byte[] bytes, GeometryFactory factory) {
+            this.bytes = bytes;
+            this.factory = factory;
+        }
+
+        Geometry geometry() {
+            int header = bytes[position++] & 0xff;
+            int type = header & 0x0f;
+            scale = Math.pow(10, unzigzag(header >>> 4));
+
+            int metadata = bytes[position++] & 0xff;
+            dimension = 2;
+            zScale = 1;
+            if ((metadata & EXTENDED_DIMENSIONS) != 0) {
+                int dimensions = bytes[position++] & 0xff;
+                if ((dimensions & 0x01) != 0) {
+                    dimension = 3;
+                    zScale = Math.pow(10, (dimensions >>> 2) & 0x07);
+                }
+                if ((dimensions & 0x02) != 0)
+                    throw new IllegalArgumentException("invalid TWKB: M ordinates are not supported");
+            }
+            if ((metadata & 0x01) != 0)
+                skipBbox();
+            if ((metadata & 0x02) != 0)
+                readVarint();
+            boolean idList = (metadata & 0x04) != 0;
+            boolean empty = (metadata & EMPTY) != 0;
+
+            lastX = lastY = lastZ = 0;
+            switch (type) {
+                case POINT:
+                    return empty ? factory.createPoint((Coordinate) null) : factory.createPoint(coordinates(1));
+                case LINESTRING:
+                    return factory.createLineString(empty ? coordinates(0) : coordinates(count()));
+                case POLYGON:
+                    return empty ? factory.createPolygon(null, null) : polygon();
+                case MULTIPOINT: {
+                    int n = empty ? 0 : count();
+                    skipIds(idList, n);
+                    Point[] points = new Point[n];
+                    for (int i = 0; i < n; i++)
+                        points[i] = factory.createPoint(coordinates(1));
+                    return factory.createMultiPoint(points);
+                }
+                case MULTILINESTRING: {
+                    int n = empty ? 0 : count();
+                    skipIds(idList, n);
+                    LineString[] lineStrings = new LineString[n];
+                    for (int i = 0; i < n; i++)
+                        lineStrings[i] = factory.createLineString(coordinates(count()));
+                    return factory.createMultiLineString(lineStrings);
+                }
+                case MULTIPOLYGON: {
+                    int n = empty ? 0 : count();
+                    skipIds(idList, n);
+                    Polygon[] polygons = new Polygon[n];
+                    for (int i = 0; i < n; i++)
+                        polygons[i] = polygon();
+                    return factory.createMultiPolygon(polygons);
+                }
+                case GEOMETRYCOLLECTION: {
+                    int n = empty ? 0 : count();
+                    skipIds(idList, n);
+                    Geometry[] geometries = new Geometry[n];
+                    for (int i = 0; i < n; i++)
+                        geometries[i] = geometry();
+                    return factory.createGeometryCollection(geometries);
+                }
+                default:
+                    throw new IllegalArgumentException("invalid TWKB geometry type " + type);
+            }
+        }
+
+        private Polygon polygon() {
+            int rings = count();
+            if (rings == 0)
+                return factory.createPolygon(null, null);
+            LinearRing shell = factory.createLinearRing(coordinates(count()));
+            LinearRing[] holes = new LinearRing[rings - 1];
+            for (int i = 0; i < holes.length; i++)
+                holes[i] = factory.createLinearRing(coordinates(count()));
+            return factory.createPolygon(shell, holes);
+        }
+
+        private CoordinateSequence coordinates(int n) {
+            CoordinateSequence sequence = factory.getCoordinateSequenceFactory().create(n, dimension);
+            for (int i = 0; i < n; i++) {
+                lastX += unzigzag(readVarint());
+                lastY += unzigzag(readVarint());
+                sequence.setOrdinate(i, CoordinateSequence.X, lastX / scale);
+                sequence.setOrdinate(i, CoordinateSequence.Y, lastY / scale);
+                if (dimension > 2) {
+                    lastZ += unzigzag(readVarint());
+                    sequence.setOrdinate(i, CoordinateSequence.Z, lastZ / zScale);
+                }
+            }
+            return sequence;
+        }
+
+        private int count() {
+            long n = readVarint();
+            if (n < 0 || n > bytes.length - position)
+                throw new IllegalArgumentException("invalid TWKB: count " + n + " exceeds the input");
+            return (int) n;
+        }
+
+        private void skipIds(boolean idList, int n) {
+            if (idList) {
+                for (int i = 0; i < n; i++)
+                    readVarint();
+            }
+        }
+
+        private void skipBbox() {
+            for (int i = 0; i < 2 * dimension; i++)
+                readVarint();
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0)
+                    return value;
+                if (shift > 63)
+                    throw new IllegalArgumentException("invalid TWKB: varint too long");
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+
+/**
+ * Universal Transverse Mercator on the WGS84 ellipsoid, using the Krüger series to third order (accurate to
+ * about a millimeter inside the zone). Serves the WGS84 UTM SRIDs 32601-32660 (north) and 32701-32760 (south) and
+ * the ETRS89 UTM SRIDs 25828-25838, treating ETRS89 as WGS84 (less than a meter apart).
+ */
+@SuppressWarnings("WeakerAccess")
+public class UtmProjection implements Projection {
+
+    private static final double A = 6378137;
+    private static final double F = 1 / 298.257223563;
+    private static final double K0 = 0.9996;
+    private static final double FALSE_EASTING = 500000;
+    private static final double FALSE_NORTHING_SOUTH = 10000000;
+
+    private static final double N = F / (2 - F);
+    private static final double E = 2 * Math.sqrt(N) / (1 + N);
+    private static final double K0A = K0 * A / (1 + N) * (1 + N * N / 4 + N * N * N * N / 64);
+
+    private static final double[] ALPHA = {
+            N / 2 - 2 * N * N / 3 + 5 * N * N * N / 16,
+            13 * N * N / 48 - 3 * N * N * N / 5,
+            61 * N * N * N / 240};
+    private static final double[] BETA = {
+            N / 2 - 2 * N * N / 3 + 37 * N * N * N / 96,
+            N * N / 48 + N * N * N / 15,
+            17 * N * N * N / 480};
+    private static final double[] DELTA = {
+            2 * N - 2 * N * N / 3 - 2 * N * N * N,
+            7 * N * N / 3 - 8 * N * N * N / 5,
+            56 * N * N * N / 15};
+
+    private final int srid;
+    private final double centralMeridian;
+    private final double falseNorthing;
+
+    /**
+     * @param srid  the SRID
+     * @param zone  UTM zone 1 - 60
+     * @param south southern hemisphere (false northing of 10000 km)
+     */
+    public UtmProjection(int srid, int zone, boolean south) {
+        if (zone < 1 || zone > 60)
+            throw new IllegalArgumentException("invalid UTM zone " + zone);
+        this.srid = srid;
+        this.centralMeridian = Math.toRadians(zone * 6 - 183);
+        this.falseNorthing = south ? FALSE_NORTHING_SOUTH : 0;
+    }
+
+    /**
+     * @return the projection for a WGS84 or ETRS89 UTM SRID or null if the SRID is no UTM zone
+     */
+    public static UtmProjection forSrid(int srid) {
+        if (srid >= 32601 && srid <= 32660)
+            return new UtmProjection(srid, srid - 32600, false);
+        if (srid >= 32701 && srid <= 32760)
+            return new UtmProjection(srid, srid - 32700, true);
+        if (srid >= 25828 && srid <= 25838)
+            return new UtmProjection(srid, srid - 25800, false);
+        return null;
+    }
+
+    @Override
+    public int getSrid() {
+        return srid;
+    }
+
+    @Override
+    public void project(CoordinateSequence seq, int i) {
+        double lat = Math.toRadians(seq.getOrdinate(i, CoordinateSequence.Y));
+        double dLon = Math.toRadians(seq.getOrdinate(i, CoordinateSequence.X)) - centralMeridian;
+
+        double sinLat = Math.sin(lat);
+        double t = Math.sinh(atanh(sinLat) - E * atanh(E * sinLat));
+        double xi = Math.atan2(t, Math.cos(dLon));
+        double eta = atanh(Math.sin(dLon) / Math.sqrt(1 + t * t));
+
+        double x = eta;
+        double y = xi;
+        for (int j = 0; j < 3; j++) {
+            double k = 2 * (j + 1);
+            x += ALPHA[j] * Math.cos(k * xi) * Math.sinh(k * eta);
+            y += ALPHA[j] * Math.sin(k * xi) * Math.cosh(k * eta);
+        }
+
+        seq.setOrdinate(i, CoordinateSequence.X, FALSE_EASTING + K0A * x);
+        seq.setOrdinate(i, CoordinateSequence.Y, falseNorthing + K0A * y);
+    }
+
+    @Override
+    public void unproject(CoordinateSequence seq, int i) {
+        double xi = (seq.getOrdinate(i, CoordinateSequence.Y) - falseNorthing) / K0A;
+        double eta = (seq.getOrdinate(i, CoordinateSequence.X) - FALSE_EASTING) / K0A;
+
+        double xi1 = xi;
+        double eta1 = eta;
+        for (int j = 0; j < 3; j++) {
+            double k = 2 * (j + 1);
+            xi1 -= BETA[j] * Math.sin(k * xi) * Math.cosh(k * eta);
+            eta1 -= BETA[j] * Math.cos(k * xi) * Math.sinh(k * eta);
+        }
+
+        double chi = Math.asin(Math.sin(xi1) / Math.cosh(eta1));
+        double lat = chi;
+        for (int j = 0; j < 3; j++)
+            lat += DELTA[j] * Math.sin(2 * (j + 1) * chi);
+        double lon = centralMeridian + Math.atan2(Math.sinh(eta1), Math.cos(xi1));
+
+        seq.setOrdinate(i, CoordinateSequence.X, Math.toDegrees(lon));
+        seq.setOrdinate(i, CoordinateSequence.Y, Math.toDegrees(lat));
+    }
+
+    private static double atanh(double x) {
+        return 0.5 * Math.log((1 + x) / (1 - x));
+    }
+}
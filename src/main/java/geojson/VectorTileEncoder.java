@@ -0,0 +1,697 @@
+package geojson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.vividsolutions.jts.geom.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes FeatureCollections as Mapbox Vector Tiles (version 2).
+ * <p>
+ * Geometries in WGS84 or Google Mercator are projected with {@link GeoUtil#mercator(Coordinate)} into the integer
+ * coordinates of the tile, clipped to the tile extended by a buffer, simplified with Douglas-Peucker and written as
+ * delta and zigzag encoded commands. Property keys and values are stored once per layer. Features of other SRIDs
+ * are projected to WGS84 first.
+ * <pre>
+ * byte[] tile = new VectorTileEncoder().encode(z, x, y, "roads", roads);
+ * </pre>
+ * An encoder holds only its settings and can be shared by threads.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class VectorTileEncoder {
+
+    private static final int POINT = 1;
+    private static final int LINESTRING = 2;
+    private static final int POLYGON = 3;
+
+    private static final int MOVE_TO = 1;
+    private static final int LINE_TO = 2;
+    private static final int CLOSE_PATH = 7;
+
+    private int extent = 4096;
+    private int buffer = 64;
+    private double tolerance = 1;
+
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * @param extent tile width and height in tile coordinates, 4096 by default
+     */
+    public VectorTileEncoder setExtent(int extent) {
+        if (extent <= 0)
+            throw new IllegalArgumentException("extent must be positive");
+        this.extent = extent;
+        return this;
+    }
+
+    public int getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @param buffer geometries are clipped to the tile extended by this number of tile coordinates, 64 by default
+     */
+    public VectorTileEncoder setBuffer(int buffer) {
+        if (buffer < 0)
+            throw new IllegalArgumentException("buffer must not be negative");
+        this.buffer = buffer;
+        return this;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @param tolerance Douglas-Peucker tolerance in tile coordinates, 0 disables the simplification
+     */
+    public VectorTileEncoder setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @return the tile with a single layer
+     */
+    public byte[] encode(int z, int x, int y, String layerName, FeatureCollection<? extends Feature> collection) {
+        Map<String, FeatureCollection<? extends Feature>> layers = new LinkedHashMap<>();
+        layers.put(layerName, collection);
+        return encode(z, x, y, layers);
+    }
+
+    /**
+     * @param layers layer names and their features, in the order of the layers in the tile
+     */
+    public byte[] encode(int z, int x, int y, Map<String, ? extends FeatureCollection<? extends Feature>> layers) {
+        if (z < 0 || z > 30 || x < 0 || y < 0 || x >= 1 << z || y >= 1 << z)
+            throw new IllegalArgumentException("invalid tile " + z + "/" + x + "/" + y);
+
+        Protobuf tile = new Protobuf();
+        TileProjection projection = new TileProjection(z, x, y);
+        for (Map.Entry<String, ? extends FeatureCollection<? extends Feature>> layer : layers.entrySet())
+            tile.writeMessage(3, layer(layer.getKey(), layer.getValue(), projection));
+        return tile.toByteArray();
+    }
+
+    private Protobuf layer(String name, FeatureCollection<? extends Feature> collection, TileProjection projection) {
+        Layer layer = new Layer();
+        Envelope tileBounds = projection.wgs84Bounds();
+
+        for (Feature feature : collection) {
+            Geometry geometry = feature.getGeometry();
+            if (geometry == null || geometry.isEmpty())
+                continue;
+            if (geometry.getSRID() != GeoUtil.GOOGLE_MERCATOR_SRID) {
+                if (geometry.getSRID() != GeoUtil.WGS84_SRID)
+                    geometry = GeoUtil.project(geometry, GeoUtil.WGS84_SRID);
+                if (!tileBounds.intersects(geometry.getEnvelopeInternal()))
+                    continue;
+            }
+            feature(feature, geometry, projection, layer);
+        }
+
+        Protobuf message = new Protobuf();
+        message.writeVarintField(15, 2);
+        message.writeStringField(1, name);
+        for (Protobuf f : layer.features)
+            message.writeMessage(2, f);
+        for (String key : layer.keys.keySet())
+            message.writeStringField(3, key);
+        for (Object value : layer.values.keySet())
+            message.writeMessage(4, value(value));
+        message.writeVarintField(5, extent);
+        return message;
+    }
+
+    /**
+     * Writes the geometry as one tile feature, geometry collections as one tile feature per member
+     */
+    private void feature(Feature feature, Geometry geometry, TileProjection projection, Layer layer) {
+        if (geometry.getClass() == GeometryCollection.class) {
+            for (int i = 0; i < geometry.getNumGeometries(); i++)
+                feature(feature, geometry.getGeometryN(i), projection, layer);
+            return;
+        }
+
+        projection.mercator = geometry.getSRID() == GeoUtil.GOOGLE_MERCATOR_SRID;
+        Commands commands = new Commands();
+        int type;
+        if (geometry instanceof Point || geometry instanceof MultiPoint) {
+            type = POINT;
+            points(geometry, projection, commands);
+        } else if (geometry instanceof LineString || geometry instanceof MultiLineString) {
+            type = LINESTRING;
+            for (int i = 0; i < geometry.getNumGeometries(); i++)
+                line(((LineString) geometry.getGeometryN(i)).getCoordinateSequence(), projection, commands);
+        } else if (geometry instanceof Polygon || geometry instanceof MultiPolygon) {
+            type = POLYGON;
+            for (int i = 0; i < geometry.getNumGeometries(); i++)
+                polygon((Polygon) geometry.getGeometryN(i), projection, commands);
+        } else {
+            throw new IllegalArgumentException("unsupported geometry type " + geometry.getGeometryType());
+        }
+        if (commands.size == 0)
+            return;
+
+        Protobuf message = new Protobuf();
+        long id = id(feature.getId());
+        if (id >= 0)
+            message.writeVarintField(1, id);
+
+        int[] tags = tags(feature.getProperties(), layer);
+        if (tags.length > 0)
+            message.writePackedField(2, tags, tags.length);
+        message.writeVarintField(3, type);
+        message.writePackedField(4, commands.values, commands.size);
+        layer.features.add(message);
+    }
+
+    private void points(Geometry geometry, TileProjection projection, Commands commands) {
+        double min = -buffer, max = extent + buffer;
+        Points points = new Points();
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Point point = (Point) geometry.getGeometryN(i);
+            if (point.isEmpty())
+                continue;
+            projection.project(point.getCoordinateSequence(), points);
+            int last = points.size - 1;
+            if (points.x[last] < min || points.x[last] > max || points.y[last] < min || points.y[last] > max)
+                points.size--;
+        }
+        if (points.size == 0)
+            return;
+
+        commands.command(MOVE_TO, points.size);
+        for (int i = 0; i < points.size; i++)
+            commands.moveCursor(points.x[i], points.y[i]);
+    }
+
+    private void line(CoordinateSequence sequence, TileProjection projection, Commands commands) {
+        Points points = new Points();
+        projection.project(sequence, points);
+
+        for (Points piece : points.clipLine(-buffer, -buffer, extent + buffer, extent + buffer)) {
+            piece = piece.simplify(tolerance).round();
+            if (piece.size < 2)
+                continue;
+            commands.command(MOVE_TO, 1);
+            commands.moveCursor(piece.x[0], piece.y[0]);
+            commands.command(LINE_TO, piece.size - 1);
+            for (int i = 1; i < piece.size; i++)
+                commands.moveCursor(piece.x[i], piece.y[i]);
+        }
+    }
+
+    private void polygon(Polygon polygon, TileProjection projection, Commands commands) {
+        if (polygon.isEmpty())
+            return;
+        if (!ring(polygon.getExteriorRing().getCoordinateSequence(), projection, commands, true))
+            return;
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++)
+            ring(polygon.getInteriorRingN(i).getCoordinateSequence(), projection, commands, false);
+    }
+
+    /**
+     * @return false if nothing of the ring is left after clipping and simplification
+     */
+    private boolean ring(CoordinateSequence sequence, TileProjection projection, Commands commands,
+                         boolean exterior) {
+        Points points = new Points();
+        projection.project(sequence, points);
+        points = points.clipRing(-buffer, -buffer, extent + buffer, extent + buffer).simplify(tolerance).round();
+
+        // without the closing point
+        if (points.size > 1 && points.x[0] == points.x[points.size - 1] && points.y[0] == points.y[points.size - 1])
+            points.size--;
+        double area = points.area();
+        if (points.size < 3 || area == 0)
+            return false;
+
+        // exterior rings have a positive area in tile coordinates (y down), interior rings a negative one
+        if (exterior != area > 0)
+            points.reverse();
+
+        commands.command(MOVE_TO, 1);
+        commands.moveCursor(points.x[0], points.y[0]);
+        commands.command(LINE_TO, points.size - 1);
+        for (int i = 1; i < points.size; i++)
+            commands.moveCursor(points.x[i], points.y[i]);
+        commands.command(CLOSE_PATH, 1);
+        return true;
+    }
+
+    private static long id(String id) {
+        if (id == null || id.isEmpty() || id.length() > 18)
+            return -1;
+        for (int i = 0; i < id.length(); i++) {
+            if (!Character.isDigit(id.charAt(i)))
+                return -1;
+        }
+        return Long.parseLong(id);
+    }
+
+    private static int[] tags(Map<String, Object> properties, Layer layer) {
+        int[] tags = new int[2 * properties.size()];
+        int n = 0;
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            Object value = tagValue(property.getValue());
+            if (value == null)
+                continue;
+            tags[n++] = index(layer.keys, property.getKey());
+            tags[n++] = index(layer.values, value);
+        }
+        return Arrays.copyOf(tags, n);
+    }
+
+    private static <K> int index(Map<K, Integer> dictionary, K key) {
+        Integer index = dictionary.get(key);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return the value as String, Boolean, Long, Float or Double, other values as JSON strings
+     */
+    private static Object tagValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Float
+                || value instanceof Double || value instanceof Long)
+            return value;
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return ((Number) value).longValue();
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        try {
+            return Mapper.get().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("property value can not be written as JSON", e);
+        }
+    }
+
+    private static Protobuf value(Object value) {
+        Protobuf message = new Protobuf();
+        if (value instanceof String) {
+            message.writeStringField(1, (String) value);
+        } else if (value instanceof Float) {
+            message.writeFixed32Field(2, Float.floatToIntBits((Float) value));
+        } else if (value instanceof Double) {
+            message.writeFixed64Field(3, Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Long) {
+            long l = (Long) value;
+            if (l < 0)
+                message.writeVarintField(6, zigzag(l));
+            else
+                message.writeVarintField(5, l);
+        } else {
+            message.writeVarintField(7, (Boolean) value ? 1 : 0);
+        }
+        return message;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Dictionaries and features of one layer
+     */
+    private static final class Layer {
+
+        final Map<String, Integer> keys = new LinkedHashMap<>();
+        final Map<Object, Integer> values = new LinkedHashMap<>();
+        final List<Protobuf> features = new ArrayList<>();
+    }
+
+    /**
+     * Projects WGS84 or Google Mercator coordinates to the coordinates of one tile
+     */
+    private final class TileProjection {
+
+        private final int z, x, y;
+        private final double scale;
+        private final Coordinate c = new Coordinate();
+
+        // coordinates of the current geometry are Google Mercator instead of WGS84
+        boolean mercator;
+
+        TileProjection(int z, int x, int y) {
+            this.z = z;
+            this.x = x;
+            this.y = y;
+            this.scale = (1 << z) / GeoUtil.EarthRadiusPI2;
+        }
+
+        void project(CoordinateSequence sequence, Points points) {
+            for (int i = 0; i < sequence.size(); i++) {
+                c.x = sequence.getOrdinate(i, CoordinateSequence.X);
+                c.y = sequence.getOrdinate(i, CoordinateSequence.Y);
+                if (!mercator) {
+                    c.y = Math.max(GeoUtil.MinLatitude, Math.min(GeoUtil.MaxLatitude, c.y));
+                    GeoUtil.mercator(c);
+                }
+                points.add(((c.x + GeoUtil.EarthRadiusPI) * scale - x) * extent,
+                        ((GeoUtil.EarthRadiusPI - c.y) * scale - y) * extent);
+            }
+        }
+
+        /**
+         * @return the tile extended by the buffer in WGS84
+         */
+        Envelope wgs84Bounds() {
+            double b = (double) buffer / extent;
+            double n = 1 << z;
+            return new Envelope(
+                    (x - b) / n * 360 - 180, (x + 1 + b) / n * 360 - 180,
+                    tileLat(y + 1 + b, n), tileLat(y - b, n));
+        }
+
+        private double tileLat(double tileY, double n) {
+            return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * tileY / n))));
+        }
+    }
+
+    /**
+     * Growable list of x/y values
+     */
+    private static final class Points {
+
+        double[] x = new double[16];
+        double[] y = new double[16];
+        int size;
+
+        void add(double px, double py) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            x[size] = px;
+            y[size++] = py;
+        }
+
+        /**
+         * Liang-Barsky clipping of every segment, segments leaving and reentering the box start new pieces
+         */
+        List<Points> clipLine(double minX, double minY, double maxX, double maxY) {
+            List<Points> pieces = new ArrayList<>();
+            Points piece = null;
+            for (int i = 0; i + 1 < size; i++) {
+                double x0 = x[i], y0 = y[i], dx = x[i + 1] - x0, dy = y[i + 1] - y0;
+                double t0 = 0, t1 = 1;
+                double[] p = {-dx, dx, -dy, dy};
+                double[] q = {x0 - minX, maxX - x0, y0 - minY, maxY - y0};
+                boolean visible = true;
+                for (int k = 0; k < 4 && visible; k++) {
+                    if (p[k] == 0) {
+                        visible = q[k] >= 0;
+                    } else {
+                        double t = q[k] / p[k];
+                        if (p[k] < 0)
+                            t0 = Math.max(t0, t);
+                        else
+                            t1 = Math.min(t1, t);
+                        visible = t0 <= t1;
+                    }
+                }
+                if (!visible) {
+                    piece = null;
+                    continue;
+                }
+
+                if (piece == null || t0 > 0) {
+                    piece = new Points();
+                    pieces.add(piece);
+                    piece.add(x0 + t0 * dx, y0 + t0 * dy);
+                }
+                piece.add(x0 + t1 * dx, y0 + t1 * dy);
+                if (t1 < 1)
+                    piece = null;
+            }
+            return pieces;
+        }
+
+        /**
+         * Sutherland-Hodgman clipping of a ring against the four edges of the box
+         */
+        Points clipRing(double minX, double minY, double maxX, double maxY) {
+            Points ring = this;
+            for (int edge = 0; edge < 4 && ring.size > 0; edge++) {
+                Points clipped = new Points();
+                for (int i = 0; i < ring.size; i++) {
+                    int prev = i == 0 ? ring.size - 1 : i - 1;
+                    double px = ring.x[prev], py = ring.y[prev], cx = ring.x[i], cy = ring.y[i];
+                    boolean prevInside = inside(edge, px, py, minX, minY, maxX, maxY);
+                    boolean currInside = inside(edge, cx, cy, minX, minY, maxX, maxY);
+                    if (currInside) {
+                        if (!prevInside)
+                            intersect(edge, px, py, cx, cy, minX, minY, maxX, maxY, clipped);
+                        clipped.add(cx, cy);
+                    } else if (prevInside) {
+                        intersect(edge, px, py, cx, cy, minX, minY, maxX, maxY, clipped);
+                    }
+                }
+                ring = clipped;
+            }
+            if (ring.size > 0)
+                ring.add(ring.x[0], ring.y[0]);
+            return ring;
+        }
+
+        private static boolean inside(int edge, double px, double py, double minX, double minY, double maxX,
+                                      double maxY) {
+            switch (edge) {
+                case 0:
+                    return px >= minX;
+                case 1:
+                    return px <= maxX;
+                case 2:
+                    return py >= minY;
+                default:
+                    return py <= maxY;
+            }
+        }
+
+        private static void intersect(int edge, double x0, double y0, double x1, double y1, double minX,
+                                      double minY, double maxX, double maxY, Points out) {
+            double bound = edge == 0 ? minX : edge == 1 ? maxX : edge == 2 ? minY : maxY;
+            if (edge < 2) {
+                double t = (bound - x0) / (x1 - x0);
+                out.add(bound, y0 + t * (y1 - y0));
+            } else {
+                double t = (bound - y0) / (y1 - y0);
+                out.add(x0 + t * (x1 - x0), bound);
+            }
+        }
+
+        /**
+         * Douglas-Peucker simplification, keeps the first and the last point
+         */
+        Points simplify(double tolerance) {
+            if (tolerance <= 0 || size < 3)
+                return this;
+
+            boolean[] keep = new boolean[size];
+            keep[0] = keep[size - 1] = true;
+            int[] stack = new int[64];
+            int top = 0;
+            stack[top++] = 0;
+            stack[top++] = size - 1;
+            double tolerance2 = tolerance * tolerance;
+            while (top > 0) {
+                int last = stack[--top];
+                int first = stack[--top];
+                double maxDistance = -1;
+                int index = -1;
+                for (int i = first + 1; i < last; i++) {
+                    double d = segmentDistance2(i, first, last);
+                    if (d > maxDistance) {
+                        maxDistance = d;
+                        index = i;
+                    }
+                }
+                if (index >= 0 && maxDistance > tolerance2) {
+                    keep[index] = true;
+                    if (top + 4 > stack.length)
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = first;
+                    stack[top++] = index;
+                    stack[top++] = index;
+                    stack[top++] = last;
+                }
+            }
+
+            Points simplified = new Points();
+            for (int i = 0; i < size; i++) {
+                if (keep[i])
+                    simplified.add(x[i], y[i]);
+            }
+            return simplified;
+        }
+
+        private double segmentDistance2(int i, int first, int last) {
+            double ax = x[first], ay = y[first];
+            double dx = x[last] - ax, dy = y[last] - ay;
+            double length2 = dx * dx + dy * dy;
+            double t = length2 == 0 ? 0 : Math.max(0, Math.min(1, ((x[i] - ax) * dx + (y[i] - ay) * dy) / length2));
+            double ex = x[i] - (ax + t * dx), ey = y[i] - (ay + t * dy);
+            return ex * ex + ey * ey;
+        }
+
+        /**
+         * @return the points rounded to integers without consecutive duplicates
+         */
+        Points round() {
+            Points rounded = new Points();
+            for (int i = 0; i < size; i++) {
+                double rx = Math.round(x[i]), ry = Math.round(y[i]);
+                int last = rounded.size - 1;
+                if (last < 0 || rounded.x[last] != rx || rounded.y[last] != ry)
+                    rounded.add(rx, ry);
+            }
+            return rounded;
+        }
+
+        /**
+         * @return twice the signed area of the ring
+         */
+        double area() {
+            double area = 0;
+            for (int i = 0, j = size - 1; i < size; j = i++)
+                area += x[j] * y[i] - x[i] * y[j];
+            return area;
+        }
+
+        void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                double t = x[i];
+                x[i] = x[j];
+                x[j] = t;
+                t = y[i];
+                y[i] = y[j];
+                y[j] = t;
+            }
+        }
+    }
+
+    /**
+     * Geometry commands and parameters with the cursor for the delta encoding
+     */
+    private static final class Commands {
+
+        int[] values = new int[64];
+        int size;
+        private int cursorX, cursorY;
+
+        void command(int id, int count) {
+            add((id & 0x7) | (count << 3));
+        }
+
+        void moveCursor(double px, double py) {
+            int ix = (int) Math.round(px), iy = (int) Math.round(py);
+            add((int) zigzag(ix - cursorX));
+            add((int) zigzag(iy - cursorY));
+            cursorX = ix;
+            cursorY = iy;
+        }
+
+        private void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Minimal protocol buffers writer
+     */
+    private static final class Protobuf {
+
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void writeVarintField(int field, long value) {
+            writeVarint(field << 3);
+            writeVarint(value);
+        }
+
+        void writeStringField(int field, String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(field << 3 | 2);
+            writeVarint(utf8.length);
+            writeBytes(utf8, utf8.length);
+        }
+
+        void writeFixed32Field(int field, int value) {
+            writeVarint(field << 3 | 5);
+            for (int i = 0; i < 4; i++)
+                writeByte(value >>> (8 * i));
+        }
+
+        void writeFixed64Field(int field, long value) {
+            writeVarint(field << 3 | 1);
+            for (int i = 0; i < 8; i++)
+                writeByte((int) (value >>> (8 * i)));
+        }
+
+        void writePackedField(int field, int[] values, int count) {
+            int length = 0;
+            for (int i = 0; i < count; i++)
+                length += varintSize(values[i] & 0xFFFFFFFFL);
+            writeVarint(field << 3 | 2);
+            writeVarint(length);
+            for (int i = 0; i < count; i++)
+                writeVarint(values[i] & 0xFFFFFFFFL);
+        }
+
+        void writeMessage(int field, Protobuf message) {
+            writeVarint(field << 3 | 2);
+            writeVarint(message.size);
+            writeBytes(message.bytes, message.size);
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private static int varintSize(long value) {
+            int n = 1;
+            while ((value & ~0x7FL) != 0) {
+                value >>>= 7;
+                n++;
+            }
+            return n;
+        }
+
+        private void writeBytes(byte[] b, int length) {
+            ensure(length);
+            System.arraycopy(b, 0, bytes, size, length);
+            size += length;
+        }
+
+        private void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        private void ensure(int length) {
+            if (size + length > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+
+/**
+ * Well-known binary, 2D or 3D depending on the z ordinate of the first coordinate
+ */
+@SuppressWarnings("WeakerAccess")
+public class WkbGeometryCodec implements GeometryCodec {
+
+    @Override
+    public byte[] encode(Geometry geometry) {
+        Coordinate first = geometry.getCoordinate();
+        int dimension = first != null && !Double.isNaN(first.z) ? 3 : 2;
+        // the JTS writer and reader hold buffers, they are created per call to stay thread-safe
+        return new WKBWriter(dimension).write(geometry);
+    }
+
+    @Override
+    public Geometry decode(byte[] bytes, GeometryFactory factory) {
+        try {
+            return new WKBReader(factory).read(bytes);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("invalid WKB: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactPropertiesTest {
+
+    private static final String COLLECTION = "{\"type\":\"FeatureCollection\",\"features\":[" +
+            "{\"type\":\"Feature\",\"properties\":{\"name\":\"a\",\"lanes\":2,\"speed\":50.5,\"oneway\":true}}," +
+            "{\"type\":\"Feature\",\"properties\":{\"name\":\"b\",\"lanes\":1,\"tags\":[\"x\",\"y\"],\"ref\":null}}]}";
+
+    @Test
+    public void testMap() throws Exception {
+        PropertyKeys keys = new PropertyKeys();
+        CompactProperties properties = new CompactProperties(keys);
+        Map<String, Object> expected = new HashMap<>();
+
+        for (Map<String, Object> map : Arrays.asList(properties, expected)) {
+            map.put("int", 1);
+            map.put("long", 1L << 40);
+            map.put("double", 2.5);
+            map.put("bool", false);
+            map.put("float", 1.5f);
+            map.put("string", "s");
+            map.put("null", null);
+            map.put("int", 3);
+            map.remove("long");
+        }
+        assertEquals(expected, properties);
+        assertEquals(properties, expected);
+        assertEquals(expected.hashCode(), properties.hashCode());
+        assertEquals(3, properties.get("int"));
+        assertEquals(1.5f, properties.get("float"));
+        assertTrue(properties.containsKey("null"));
+        assertFalse(properties.containsKey("long"));
+        assertNull(properties.get("missing"));
+        assertNull(properties.get(null));
+
+        assertEquals(3, properties.getLong("int", -1));
+        assertEquals(2.5, properties.getDouble("double", -1), 0);
+        assertEquals(-1, properties.getLong("string", -1));
+
+        // the keys are shared
+        CompactProperties other = new CompactProperties(keys, expected);
+        assertEquals(expected, other);
+        assertEquals(7, keys.size());
+
+        Iterator<Map.Entry<String, Object>> iterator = other.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if (entry.getValue() instanceof Number)
+                iterator.remove();
+            else if ("string".equals(entry.getKey()))
+                entry.setValue(42);
+        }
+        expected.keySet().removeIf(key -> expected.get(key) instanceof Number);
+        expected.put("string", 42);
+        assertEquals(expected, other);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(other);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(expected, in.readObject());
+        }
+    }
+
+    @Test
+    public void testDeserialize() throws Exception {
+        ObjectMapper mapper = Mapper.create(new GeoJacksonModule().setCompactProperties(true));
+        FeatureCollection<Feature> collection = mapper.readValue(COLLECTION,
+                mapper.getTypeFactory().constructParametricType(FeatureCollection.class, Feature.class));
+        FeatureCollection<Feature> expected = Mapper.get().readValue(COLLECTION,
+                mapper.getTypeFactory().constructParametricType(FeatureCollection.class, Feature.class));
+
+        Feature first = collection.getFeatures().get(0);
+        Feature second = collection.getFeatures().get(1);
+        assertTrue(first.getProperties() instanceof CompactProperties);
+        assertSame(first.getPropertyKeys(), second.getPropertyKeys());
+        assertEquals(6, first.getPropertyKeys().size());
+
+        assertEquals(expected.getFeatures().get(0).getProperties(), first.getProperties());
+        assertEquals(expected.getFeatures().get(1).getProperties(), second.getProperties());
+        assertEquals(Arrays.asList("x", "y"), second.getAsList("tags", String.class));
+        assertEquals(Mapper.get().writeValueAsString(expected), mapper.writeValueAsString(collection));
+
+        // features read one at a time share the dictionary of their reader
+        try (FeatureCollectionReader<Feature> reader = new FeatureCollectionReader<>(mapper,
+                mapper.getFactory().createParser(COLLECTION.getBytes(StandardCharsets.UTF_8)), Feature.class)) {
+            assertSame(reader.next().getPropertyKeys(), reader.next().getPropertyKeys());
+        }
+
+        // a dictionary per root read, so the mapper does not collect the keys of all documents
+        String feature = "{\"type\":\"Feature\",\"properties\":{\"name\":\"c\"}}";
+        Feature single = mapper.readValue(feature, Feature.class);
+        assertNotSame(single.getPropertyKeys(), mapper.readValue(feature, Feature.class).getPropertyKeys());
+        assertEquals(1, single.getPropertyKeys().size());
+        List<Feature> list = mapper.readValue("[" + feature + "," + feature + "]",
+                mapper.getTypeFactory().constructCollectionType(List.class, Feature.class));
+        assertSame(list.get(0).getPropertyKeys(), list.get(1).getPropertyKeys());
+
+        first.setPropertyKeys(null);
+        assertTrue(first.getProperties() instanceof HashMap);
+        assertEquals(expected.getFeatures().get(0).getProperties(), first.getProperties());
+    }
+}
@@ -0,0 +1,74 @@
+package geojson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class CrsTest {
+
+    private static final String MERCATOR_CRS = "{\"type\":\"name\",\"properties\":{\"name\":\"urn:ogc:def:crs:EPSG::3857\"}}";
+    private static final String POINT_FEATURE = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1020566.0,6235006.1]}}";
+
+    @Test
+    public void testSrid() throws Exception {
+        assertEquals(GeoUtil.WGS84_SRID, new Crs().getSrid());
+        assertEquals(3857, new Crs(3857).getSrid());
+        assertEquals(GeoUtil.WGS84_SRID, new Crs(GeoUtil.WGS84_SRID).getSrid());
+
+        Crs crs = new Crs();
+        crs.getProperties().put("name", "EPSG:25832");
+        assertEquals(25832, crs.getSrid());
+        crs.getProperties().put("name", "http://www.opengis.net/def/crs/EPSG/0/3035");
+        assertEquals(3035, crs.getSrid());
+        crs.getProperties().put("name", "local");
+        assertEquals(0, crs.getSrid());
+    }
+
+    @Test
+    public void testCollectionCrs() throws Exception {
+        String json = "{\"type\":\"FeatureCollection\",\"crs\":" + MERCATOR_CRS + ",\"features\":[" + POINT_FEATURE + "]}";
+        FeatureCollection<Feature> collection = read(json);
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, collection.getFeatures().get(0).getGeometry().getSRID());
+        assertEquals(GeoUtil.getMercatorFactory(), collection.getFeatures().get(0).getGeometry().getFactory());
+
+        FeatureCollectionReader<Feature> reader = new FeatureCollectionReader<>(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Feature.class);
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, reader.next().getGeometry().getSRID());
+    }
+
+    @Test
+    public void testCrsAfterFeatures() throws Exception {
+        FeatureCollection<Feature> collection = read(
+                "{\"type\":\"FeatureCollection\",\"features\":[" + POINT_FEATURE + "],\"crs\":" + MERCATOR_CRS + "}");
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, collection.getFeatures().get(0).getGeometry().getSRID());
+        assertEquals(1020566.0, collection.getFeatures().get(0).getGeometry().getCoordinate().x, 0);
+    }
+
+    @Test
+    public void testFeatureCrsIsScopedToFeature() throws Exception {
+        String mercatorFeature = "{\"type\":\"Feature\",\"crs\":" + MERCATOR_CRS
+                + ",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1020566.0,6235006.1]}}";
+        String wgs84Feature = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[9.1,48.7]}}";
+        FeatureCollection<Feature> collection = read(
+                "{\"type\":\"FeatureCollection\",\"features\":[" + mercatorFeature + "," + wgs84Feature + "]}");
+
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, collection.getFeatures().get(0).getGeometry().getSRID());
+        assertEquals(GeoUtil.WGS84_SRID, collection.getFeatures().get(1).getGeometry().getSRID());
+    }
+
+    @Test
+    public void testDefaultSrid() throws Exception {
+        Feature feature = Mapper.create(new GeoJacksonModule().setDefaultSrid(GeoUtil.GOOGLE_MERCATOR_SRID))
+                .readValue(POINT_FEATURE, Feature.class);
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, feature.getGeometry().getSRID());
+    }
+
+    private static FeatureCollection<Feature> read(String json) throws Exception {
+        return Mapper.get().readValue(json, new TypeReference<FeatureCollection<Feature>>() {
+        });
+    }
+}
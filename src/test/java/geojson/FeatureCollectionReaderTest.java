@@ -0,0 +1,48 @@
+package geojson;
+
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class FeatureCollectionReaderTest {
+
+    @Test
+    public void testReadFeatures() throws Exception {
+        InputStream resourceAsStream = this.getClass().getResourceAsStream("/featurecollection.json");
+        try (FeatureCollectionReader<Feature> reader = new FeatureCollectionReader<>(resourceAsStream, Feature.class)) {
+            int count = 0;
+            for (Feature feature : reader) {
+                assertEquals("Point", feature.getGeometry().getGeometryType());
+                assertNotNull(feature.getId());
+                count++;
+            }
+            assertEquals(50, count);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testSubclassAndMembersAfterFeatures() throws Exception {
+        ExampleFeatureCollection collection = new ExampleFeatureCollection();
+        collection.add(new ExampleFeature(GeoUtil.asWgs84(48, 9), "e1"));
+        collection.add(new ExampleFeature(GeoUtil.asWgs84(46, 9), "e2"));
+        collection.setName("example");
+        collection.setId("c1");
+        String json = Mapper.get().writeValueAsString(collection);
+
+        FeatureCollectionReader<ExampleFeature> reader = new FeatureCollectionReader<>(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), ExampleFeature.class);
+
+        assertEquals(2, reader.stream().map(ExampleFeature::getName).filter(name -> name.startsWith("e")).count());
+        assertEquals("c1", reader.getId());
+        assertEquals("example", reader.getProperties().get("name"));
+    }
+}
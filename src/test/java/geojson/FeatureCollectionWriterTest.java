@@ -0,0 +1,55 @@
+package geojson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vividsolutions.jts.geom.Envelope;
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class FeatureCollectionWriterTest {
+
+    @Test
+    public void testWriteAndReadBack() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FeatureCollectionWriter<ExampleFeature> writer = new FeatureCollectionWriter<>(out)) {
+            writer.setId("c1");
+            writer.setCrs(new Crs());
+            writer.setBbox(new Envelope(0, 10, 0, 10));
+            writer.set("name", "example");
+
+            writer.write(new ExampleFeature(GeoUtil.asWgs84(1, 2), "e0"));
+            writer.writeAll(IntStream.range(1, 100)
+                    .mapToObj(i -> new ExampleFeature(GeoUtil.asWgs84(i % 10, i / 10), "e" + i)));
+        }
+
+        ExampleFeatureCollection collection = Mapper.get().readValue(out.toByteArray(), ExampleFeatureCollection.class);
+        assertEquals(100, collection.getFeatures().size());
+        assertEquals("c1", collection.getId());
+        assertEquals("example", collection.getName());
+        assertEquals(new Envelope(0, 10, 0, 10), collection.getBbox());
+        assertEquals("e42", collection.getFeatures().get(42).getName());
+    }
+
+    @Test
+    public void testEmptyCollection() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FeatureCollectionWriter<>(out).close();
+
+        FeatureCollection<Feature> collection = Mapper.get().readValue(out.toByteArray(),
+                new TypeReference<FeatureCollection<Feature>>() {
+                });
+        assertEquals(0, collection.getFeatures().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMembersAfterFirstFeature() throws Exception {
+        FeatureCollectionWriter<Feature> writer = new FeatureCollectionWriter<>(new ByteArrayOutputStream());
+        writer.write(new Feature());
+        writer.setId("too late");
+    }
+}
@@ -0,0 +1,83 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Envelope;
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureContainerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndQuery() throws Exception {
+        ExampleFeatureCollection collection = new ExampleFeatureCollection();
+        collection.setId("c1");
+        collection.setName("example");
+        for (int i = 0; i < 1000; i++) {
+            ExampleFeature feature = new ExampleFeature(GeoUtil.asWgs84(i % 100, i / 10), "e" + i);
+            feature.setId("f" + i);
+            collection.add(feature);
+        }
+        collection.add(new ExampleFeature(null, "no geometry"));
+
+        Path path = folder.newFile("features.gjfc").toPath();
+        FeatureContainerWriter.write(collection, path);
+
+        try (FeatureContainerReader<ExampleFeature> reader = FeatureContainerReader.open(path, ExampleFeature.class)) {
+            assertEquals("c1", reader.getId());
+            assertEquals("example", reader.getProperties().get("name"));
+            assertEquals(new Envelope(0, 99, 0, 99), reader.getBbox());
+            assertEquals(1001, reader.size());
+
+            ExampleFeature feature = reader.get(555);
+            assertEquals("f555", feature.getId());
+            assertEquals("e555", feature.getName());
+            assertEquals(GeoUtil.asWgs84(55, 55), feature.getGeometry());
+            assertEquals(GeoUtil.WGS84_SRID, feature.getGeometry().getSRID());
+
+            assertNull(reader.get(1000).getGeometry());
+            assertEquals("no geometry", reader.get(1000).getName());
+
+            Envelope viewport = new Envelope(10.5, 20, 30, 32);
+            List<String> expected = new ArrayList<>();
+            for (ExampleFeature f : collection.getFeatures()) {
+                if (f.getGeometry() != null && viewport.intersects(f.getBbox()))
+                    expected.add(f.getName());
+            }
+            List<String> names = new ArrayList<>();
+            for (ExampleFeature f : reader.query(viewport))
+                names.add(f.getName());
+            assertEquals(expected, names);
+            assertTrue(reader.query(new Envelope(200, 300, 0, 1)).isEmpty());
+        }
+    }
+
+    @Test
+    public void testCrs() throws Exception {
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        collection.setCrs(new Crs(GeoUtil.GOOGLE_MERCATOR_SRID));
+        Feature feature = new Feature();
+        feature.setGeometry(GeoUtil.asMercator(1000, 2000));
+        collection.add(feature);
+
+        Path path = folder.newFile("mercator.gjfc").toPath();
+        FeatureContainerWriter.write(collection, path);
+        try (FeatureContainerReader<Feature> reader = FeatureContainerReader.open(path, Feature.class)) {
+            assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, reader.getCrs().getSrid());
+            assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, reader.get(0).getGeometry().getSRID());
+            assertEquals(1, reader.query(new Envelope(0, 1000, 0, 2000)).size());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Point;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureIndexTest {
+
+    private static List<Feature> randomPoints(int count) {
+        Random random = new Random(42);
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Feature feature = new Feature();
+            feature.setGeometry(GeoUtil.asWgs84(random.nextDouble() * 360 - 180, random.nextDouble() * 170 - 85));
+            features.add(feature);
+        }
+        return features;
+    }
+
+    private static double distance(Point point, Feature feature) {
+        Point p = (Point) feature.getGeometry();
+        return GeoUtil.haversineDistance(point.getX(), point.getY(), p.getX(), p.getY());
+    }
+
+    @Test
+    public void testQuery() throws Exception {
+        List<Feature> features = randomPoints(5000);
+        FeatureIndex<Feature> index = new FeatureIndex<>(features);
+        assertEquals(5000, index.size());
+
+        Envelope envelope = new Envelope(-20, 40, 10, 60);
+        List<Feature> expected = new ArrayList<>();
+        for (Feature feature : features) {
+            if (envelope.intersects(feature.getBbox()))
+                expected.add(feature);
+        }
+        assertEquals(new HashSet<>(expected), new HashSet<>(index.query(envelope)));
+        assertTrue(index.query(new Envelope()).isEmpty());
+    }
+
+    @Test
+    public void testNearestAndWithinDistance() throws Exception {
+        List<Feature> features = randomPoints(5000);
+        FeatureIndex<Feature> index = new FeatureIndex<>(features);
+
+        for (final Point point : new Point[]{GeoUtil.asWgs84(13.4, 52.5), GeoUtil.asWgs84(179.9, -10),
+                GeoUtil.asWgs84(0, 89)}) {
+            List<Feature> sorted = new ArrayList<>(features);
+            sorted.sort(Comparator.comparingDouble(f -> distance(point, f)));
+
+            assertEquals(sorted.subList(0, 10), index.nearest(point, 10));
+
+            List<Feature> within = index.withinDistance(point, 500000);
+            List<Feature> expected = new ArrayList<>();
+            for (Feature feature : sorted) {
+                if (distance(point, feature) <= 500000)
+                    expected.add(feature);
+            }
+            assertEquals(expected, within);
+        }
+    }
+
+    @Test
+    public void testPolygonsAndEmptyIndex() throws Exception {
+        Feature polygon = new Feature();
+        polygon.setGeometry(GeoUtil.getWgs84GeometryFactory().toGeometry(new Envelope(10, 11, 50, 51)));
+        Feature empty = new Feature();
+        FeatureIndex<Feature> index = new FeatureIndex<>(new FeatureCollection<>().add(polygon).add(empty));
+
+        assertEquals(1, index.size());
+        assertEquals(polygon, index.withinDistance(GeoUtil.asWgs84(10.5, 50.5), 0).get(0));
+        assertTrue(index.withinDistance(GeoUtil.asWgs84(12, 50.5), 50000).isEmpty());
+        assertEquals(1, index.withinDistance(GeoUtil.asWgs84(12, 50.5), 80000).size());
+
+        assertTrue(new FeatureIndex<>(new ArrayList<Feature>()).nearest(GeoUtil.asWgs84(0, 0), 3).isEmpty());
+    }
+
+    @Test
+    public void testTallBoxDistance() throws Exception {
+        Feature line = new Feature();
+        line.setGeometry(GeoUtil.getWgs84GeometryFactory().createLineString(new Coordinate[]{
+                new Coordinate(0, 0), new Coordinate(0, 60)}));
+        Feature point = new Feature();
+        point.setGeometry(GeoUtil.asWgs84(10, -9.5));
+        FeatureIndex<Feature> index = new FeatureIndex<>(new FeatureCollection<>().add(line).add(point));
+
+        // the line is 10 degrees of longitude along the equator away, about 1113 km
+        Point origin = GeoUtil.asWgs84(10, 0);
+        assertEquals(Collections.singletonList(point), index.withinDistance(origin, 1100000));
+        assertEquals(Arrays.asList(point, line), index.nearest(origin, 2));
+        assertEquals(2, index.withinDistance(origin, 1120000).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMixedSrids() throws Exception {
+        Feature wgs84 = new Feature();
+        wgs84.setGeometry(GeoUtil.asWgs84(10, 50));
+        Feature mercator = new Feature();
+        mercator.setGeometry(GeoUtil.asMercator(1000000, 6000000));
+        new FeatureIndex<>(new FeatureCollection<>().add(wgs84).add(mercator));
+    }
+}
@@ -0,0 +1,121 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Envelope;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureTableTest {
+
+    private static Feature feature(String id, double lon, double lat, Object... properties) {
+        Feature feature = new Feature();
+        feature.setId(id);
+        feature.setGeometry(GeoUtil.asWgs84(lon, lat));
+        for (int i = 0; i < properties.length; i += 2)
+            feature.set((String) properties[i], properties[i + 1]);
+        return feature;
+    }
+
+    private static FeatureCollection<Feature> cities() {
+        return new FeatureCollection<>()
+                .add(feature("berlin", 13.4, 52.5, "country", "DE", "population", 3644826, "area", 891.8))
+                .add(feature("hamburg", 10.0, 53.55, "country", "DE", "population", 1841179, "area", 755))
+                .add(feature("paris", 2.35, 48.86, "country", "FR", "population", 2148271L, "tags", Arrays.asList("a")))
+                .add(feature("lyon", 4.84, 45.76, "country", "FR", "area", 47.87, "tags", "b"))
+                .add(new Feature());
+    }
+
+    @Test
+    public void testColumns() throws Exception {
+        FeatureTable table = FeatureTable.of(cities());
+        assertEquals(5, table.size());
+        assertEquals(new HashSet<>(Arrays.asList("country", "population", "area", "tags")), table.getColumnNames());
+
+        assertTrue(table.getColumn("country") instanceof FeatureTable.StringColumn);
+        assertTrue(table.getColumn("population") instanceof FeatureTable.LongColumn);
+        assertTrue(table.getColumn("area") instanceof FeatureTable.DoubleColumn);
+        assertTrue(table.getColumn("tags") instanceof FeatureTable.ObjectColumn);
+
+        FeatureTable.StringColumn country = table.getStringColumn("country");
+        assertEquals(Arrays.asList("DE", "FR"), country.getDictionary());
+        assertEquals(1, country.getCode(3));
+        assertNull(country.get(4));
+        assertEquals(755, table.getDoubleColumn("area").get(1), 0);
+        assertTrue(Double.isNaN(table.getDoubleColumn("area").get(2)));
+        assertEquals(Arrays.asList("a"), table.getColumn("tags").getValue(2));
+        assertEquals("b", table.getColumn("tags").getValue(3));
+
+        assertEquals("paris", table.getId(2));
+        assertEquals(GeoUtil.asWgs84(2.35, 48.86), table.getGeometry(2));
+        assertEquals(new Envelope(2.35, 2.35, 48.86, 48.86), table.getBbox(2));
+        assertNull(table.getGeometry(4));
+        assertNull(table.getBbox(4));
+
+        Feature lyon = table.getFeature(3);
+        assertEquals("lyon", lyon.getId());
+        assertEquals(cities().getFeatures().get(3).getProperties(), lyon.getProperties());
+        assertEquals(GeoUtil.asWgs84(4.84, 45.76), lyon.getGeometry());
+    }
+
+    @Test
+    public void testFilterAndAggregate() throws Exception {
+        FeatureTable table = FeatureTable.of(cities());
+
+        BitSet germany = table.getStringColumn("country").filter("DE"::equals);
+        assertEquals(BitSet.valueOf(new long[]{0b11}), germany);
+        assertEquals(3644826 + 1841179, table.getLongColumn("population").sum(germany));
+        assertEquals(3644826 + 1841179 + 2148271, table.getLongColumn("population").sum(null));
+        assertEquals(3644826 + 1841179 + 2148271, table.getLongColumn("population").stream(table.all())
+                .parallel().sum());
+
+        BitSet north = table.intersecting(new Envelope(0, 20, 50, 60));
+        assertEquals(BitSet.valueOf(new long[]{0b11}), north);
+        assertEquals(891.8 + 755, table.getDoubleColumn("area").sum(north), 1e-9);
+        assertEquals(2, table.getDoubleColumn("area").filter(area -> area > 100).cardinality());
+        assertEquals(891.8, table.getDoubleColumn("area").stream(null).max().getAsDouble(), 0);
+
+        Map<String, Double> populationByCountry = new HashMap<>();
+        populationByCountry.put("DE", 3644826.0 + 1841179);
+        populationByCountry.put("FR", 2148271.0);
+        assertEquals(populationByCountry, table.getStringColumn("country")
+                .sumBy(table.getDoubleColumn("population"), null));
+    }
+
+    @Test
+    public void testBuilderReuse() throws Exception {
+        Feature first = new Feature();
+        first.set("count", 1);
+        FeatureTable.Builder builder = new FeatureTable.Builder().add(first);
+        FeatureTable table = builder.build();
+
+        Feature second = new Feature();
+        second.set("count", 2);
+        FeatureTable grown = builder.add(second).build();
+
+        assertEquals(1, table.size());
+        assertEquals(BitSet.valueOf(new long[]{0b1}), table.getLongColumn("count").nonNull());
+        assertEquals(1, table.getLongColumn("count").sum(null));
+        assertEquals(3, grown.getLongColumn("count").sum(null));
+    }
+
+    @Test
+    public void testFromReader() throws Exception {
+        String json = Mapper.get().writeValueAsString(cities());
+        try (FeatureCollectionReader<Feature> reader = new FeatureCollectionReader<>(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Feature.class)) {
+            FeatureTable table = FeatureTable.of(reader);
+            assertEquals(5, table.size());
+            assertEquals(891.8 + 755 + 47.87, table.getDoubleColumn("area").sum(null), 1e-9);
+        }
+    }
+}
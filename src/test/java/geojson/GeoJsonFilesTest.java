@@ -0,0 +1,65 @@
+package geojson;
+
+import geojson.example.ExampleFeature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class GeoJsonFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOpen() throws Exception {
+        Path path = folder.newFile("features.json").toPath();
+        try (FeatureCollectionWriter<ExampleFeature> writer = new FeatureCollectionWriter<>(
+                new FileOutputStream(path.toFile()))) {
+            writer.setId("c1");
+            for (int i = 0; i < 500; i++)
+                writer.write(new ExampleFeature(GeoUtil.asWgs84(i % 180, i % 90), "e" + i));
+        }
+
+        int count = 0;
+        try (FeatureCollectionReader<ExampleFeature> reader = GeoJsonFiles.open(path, ExampleFeature.class)) {
+            assertEquals("c1", reader.getId());
+            for (ExampleFeature feature : reader)
+                assertEquals("e" + count++, feature.getName());
+        }
+        assertEquals(500, count);
+    }
+
+    @Test
+    public void testRegions() throws Exception {
+        byte[] content = new byte[10000];
+        new Random(1).nextBytes(content);
+        Path path = folder.newFile("bytes").toPath();
+        Files.write(path, content);
+
+        try (InputStream in = new MappedInputStream(path, 333)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(in.read());
+            assertEquals(100, in.skip(100));
+            out.write(new byte[100], 0, 100);
+            byte[] buffer = new byte[1000];
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) >= 0)
+                out.write(buffer, 0, n);
+
+            byte[] read = out.toByteArray();
+            System.arraycopy(content, 1, read, 1, 100);
+            assertArrayEquals(content, read);
+            assertEquals(-1, in.read());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package geojson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GeoJsonObjAccessorDeserializerTest {
+
+    public static class RoadFeature extends Feature {
+
+        private int lanes;
+        public String surface;
+
+        public int getLanes() {
+            return lanes;
+        }
+
+        public void setLanes(int lanes) {
+            this.lanes = lanes;
+        }
+    }
+
+    public static class LabeledFeature extends Feature {
+
+        private final List<String> values = new ArrayList<>();
+
+        public List<String> getLabels() {
+            return values;
+        }
+    }
+
+    public static class CodedFeature extends Feature {
+
+        @JsonDeserialize(using = UpperCaseDeserializer.class)
+        public String code;
+    }
+
+    @JsonIgnoreProperties({"secret"})
+    public static class RedactedFeature extends Feature {
+
+        public int secret;
+        public int level;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StrictFeature extends Feature {
+    }
+
+    public static class UpperCaseDeserializer extends JsonDeserializer<String> {
+
+        @Override
+        public String deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            return jp.getValueAsString().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private final ObjectMapper mapper = Mapper.create(new GeoJacksonModule().setAccessorDeserializers(true));
+
+    @Test
+    public void testExampleFeatureCollection() throws Exception {
+        ExampleFeatureCollection collection = new ExampleFeatureCollection();
+        collection.setName("examples");
+        ExampleFeature feature = new ExampleFeature(GeoUtil.asWgs84(48, 9), "e1");
+        feature.setImageURLs(Arrays.asList("a.png", "b.png"));
+        feature.setId("1");
+        collection.add(feature);
+        String json = Mapper.get().writeValueAsString(collection);
+
+        ExampleFeatureCollection read = mapper.readValue(json, ExampleFeatureCollection.class);
+        assertEquals("examples", read.getName());
+        assertEquals(1, read.getFeatures().size());
+        ExampleFeature readFeature = read.getFeatures().get(0);
+        assertEquals("1", readFeature.getId());
+        assertEquals("e1", readFeature.getName());
+        assertEquals(Arrays.asList("a.png", "b.png"), readFeature.getImageURLs());
+        assertEquals(GeoUtil.asWgs84(48, 9), readFeature.getGeometry());
+
+        assertEquals(Mapper.get().writeValueAsString(Mapper.get().readValue(json, ExampleFeatureCollection.class)),
+                mapper.writeValueAsString(read));
+    }
+
+    @Test
+    public void testTypedAndForeignMembers() throws Exception {
+        String json = "{\"type\":\"Feature\",\"lanes\":2,\"surface\":\"asphalt\",\"source\":{\"name\":\"osm\"}," +
+                "\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:3857\"}}," +
+                "\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]},\"properties\":{\"name\":\"A1\"}," +
+                "\"bbox\":null}";
+        RoadFeature road = mapper.readValue(json, RoadFeature.class);
+
+        assertEquals(2, road.getLanes());
+        assertEquals("asphalt", road.surface);
+        assertEquals("A1", road.get("name"));
+        assertEquals("osm", road.<java.util.Map<String, Object>>get("source").get("name"));
+        assertFalse(road.getProperties().containsKey("type"));
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, road.getGeometry().getSRID());
+        assertEquals(1, road.getGeometry().getCoordinate().x, 0);
+
+        // the bean deserializer binds the same members and ignores the foreign one
+        RoadFeature bean = Mapper.get().readValue(json, RoadFeature.class);
+        assertEquals(bean.getLanes(), road.getLanes());
+        assertEquals(bean.getGeometry(), road.getGeometry());
+        assertNull(bean.get("source"));
+    }
+
+    @Test
+    public void testPolymorphic() throws Exception {
+        GeoJsonObj obj = mapper.readValue("{\"type\":\"Feature\",\"id\":\"x\",\"properties\":{\"a\":1}}",
+                GeoJsonObj.class);
+        assertEquals(Feature.class, obj.getClass());
+        assertEquals("x", obj.getId());
+        assertEquals(1, (int) obj.get("a"));
+    }
+
+    @Test
+    public void testBeanDeserializerFallback() throws Exception {
+        assertNotNull(create(ExampleFeature.class));
+        assertNull(create(LabeledFeature.class));
+
+        LabeledFeature labeled = mapper.readValue("{\"type\":\"Feature\",\"labels\":[\"x\",\"y\"]}",
+                LabeledFeature.class);
+        assertEquals(Arrays.asList("x", "y"), labeled.getLabels());
+        assertFalse(labeled.getProperties().containsKey("labels"));
+    }
+
+    @Test
+    public void testMemberAnnotations() throws Exception {
+        assertNotNull(create(CodedFeature.class));
+        assertEquals("A7", mapper.readValue("{\"type\":\"Feature\",\"code\":\"a7\"}", CodedFeature.class).code);
+    }
+
+    private GeoJsonObjAccessorDeserializer<?> create(Class<?> type) {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        return GeoJsonObjAccessorDeserializer.create(config, config.introspect(mapper.constructType(type)));
+    }
+
+    @Test
+    public void testClassIgnorals() throws Exception {
+        String json = "{\"type\":\"Feature\",\"secret\":1,\"level\":2,\"source\":\"osm\"}";
+        RedactedFeature redacted = mapper.readValue(json, RedactedFeature.class);
+        RedactedFeature bean = Mapper.get().readValue(json, RedactedFeature.class);
+        assertEquals(bean.secret, redacted.secret);
+        assertEquals(2, redacted.level);
+        assertFalse(redacted.getProperties().containsKey("secret"));
+        assertEquals("osm", redacted.get("source"));
+
+        StrictFeature strict = mapper.readValue(json, StrictFeature.class);
+        assertEquals(Mapper.get().readValue(json, StrictFeature.class).getProperties(), strict.getProperties());
+        assertTrue(strict.getProperties().isEmpty());
+    }
+}
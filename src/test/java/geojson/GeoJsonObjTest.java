@@ -0,0 +1,105 @@
+package geojson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GeoJsonObjTest {
+
+    public static class Address {
+        public String street;
+        public int number;
+    }
+
+    private static Map<String, Object> address(String street, int number) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", street);
+        address.put("number", number);
+        return address;
+    }
+
+    @Test
+    public void testConvertedValuesAreCached() throws Exception {
+        Feature feature = new Feature();
+        feature.set("address", address("Main Street", 1));
+
+        Address address = feature.get("address", Address.class);
+        assertEquals("Main Street", address.street);
+        assertSame(address, feature.get("address", Address.class));
+
+        // set and setProperties invalidate the cached value
+        feature.set("address", address("Main Street", 2));
+        Address changed = feature.get("address", Address.class);
+        assertNotSame(address, changed);
+        assertEquals(2, changed.number);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("address", address("Side Street", 3));
+        feature.setProperties(properties);
+        assertEquals("Side Street", feature.get("address", Address.class).street);
+
+        // as well as values replaced through getProperties()
+        feature.getProperties().put("address", address("Back Street", 4));
+        assertEquals("Back Street", feature.get("address", Address.class).street);
+
+        Map<String, Address> byName = feature.get("byName", new TypeReference<Map<String, Address>>() {
+        });
+        assertNull(byName);
+        feature.set("byName", new HashMap<>(Collections.singletonMap("home", address("Home Street", 5))));
+        byName = feature.get("byName", new TypeReference<Map<String, Address>>() {
+        });
+        assertEquals(5, byName.get("home").number);
+        assertSame(byName, feature.get("byName", new TypeReference<Map<String, Address>>() {
+        }));
+    }
+
+    @Test
+    public void testFastPaths() throws Exception {
+        Feature feature = new Feature();
+        feature.set("count", 3);
+        assertSame(feature.get("count"), feature.get("count", Integer.class));
+        assertEquals(3L, (long) feature.get("count", Long.class));
+        assertEquals(3.0, feature.get("count", Double.class), 0);
+
+        List<String> names = new ArrayList<>(Arrays.asList("a", "b"));
+        feature.set("names", names);
+        assertSame(names, feature.getAsList("names", String.class));
+
+        feature.set("numbers", Arrays.asList(1, 2));
+        List<Long> numbers = feature.getAsList("numbers", Long.class);
+        assertEquals(Arrays.asList(1L, 2L), numbers);
+        assertSame(numbers, feature.getAsList("numbers", Long.class));
+
+        List<String> missing = feature.getAsList("missing", String.class);
+        assertTrue(missing.isEmpty());
+        assertSame(missing, feature.get("missing"));
+    }
+
+    @Test
+    public void testConvertedCompactValuesAreCached() throws Exception {
+        Feature feature = new Feature();
+        feature.setPropertyKeys(new PropertyKeys());
+        feature.set("since", 2015L);
+
+        // compact properties box the number on every get
+        String since = feature.get("since", String.class);
+        assertEquals("2015", since);
+        assertSame(since, feature.get("since", String.class));
+
+        feature.getProperties().put("since", 2016L);
+        assertEquals("2016", feature.get("since", String.class));
+    }
+}
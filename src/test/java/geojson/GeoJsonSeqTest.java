@@ -0,0 +1,76 @@
+package geojson;
+
+import geojson.example.ExampleFeature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeoJsonSeqTest {
+
+    private static List<ExampleFeature> features(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ExampleFeature(GeoUtil.asWgs84(i % 180, i % 90), "e" + i))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTextSequence() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJsonSeqWriter<ExampleFeature> writer = new GeoJsonSeqWriter<>(out)) {
+            writer.writeAll(features(3));
+        }
+        StringBuilder expected = new StringBuilder();
+        for (ExampleFeature feature : features(3))
+            expected.append('\u001e').append(Mapper.get().writeValueAsString(feature)).append('\n');
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        List<String> names = new ArrayList<>();
+        try (GeoJsonSeqReader<ExampleFeature> reader = new GeoJsonSeqReader<>(
+                new ByteArrayInputStream(out.toByteArray()), ExampleFeature.class)) {
+            for (ExampleFeature feature : reader)
+                names.add(feature.getName());
+        }
+        assertEquals(Arrays.asList("e0", "e1", "e2"), names);
+    }
+
+    @Test
+    public void testMultiLineTexts() throws Exception {
+        String seq = "\n\u001e{\"type\":\"Feature\",\n\"properties\":{\"name\":\"a\"}}\n\u001e\n" +
+                "\u001e{\n\"type\":\"Feature\",\"properties\":{\"name\":\"b\"}}\n";
+        try (GeoJsonSeqReader<ExampleFeature> reader = new GeoJsonSeqReader<>(
+                new ByteArrayInputStream(seq.getBytes(StandardCharsets.UTF_8)), ExampleFeature.class)) {
+            assertEquals("a", reader.next().getName());
+            assertEquals("b", reader.next().getName());
+            assertTrue(!reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testParallelNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJsonSeqWriter<ExampleFeature> writer = new GeoJsonSeqWriter<>(Mapper.get(), out, false)) {
+            writer.writeAll(features(2000));
+        }
+        StringBuilder expected = new StringBuilder();
+        for (ExampleFeature feature : features(2000))
+            expected.append(Mapper.get().writeValueAsString(feature)).append('\n');
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        try (GeoJsonSeqReader<ExampleFeature> reader = new GeoJsonSeqReader<>(
+                new ByteArrayInputStream(out.toByteArray()), ExampleFeature.class)) {
+            List<String> names = reader.stream().parallel().map(ExampleFeature::getName)
+                    .collect(Collectors.toList());
+            assertEquals(features(2000).stream().map(ExampleFeature::getName).collect(Collectors.toList()), names);
+        }
+    }
+}
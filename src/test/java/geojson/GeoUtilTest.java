@@ -1,13 +1,17 @@
 package geojson;
 
+import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.Envelope;
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
 import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.Polygon;
 import com.vividsolutions.jts.io.WKTReader;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class GeoUtilTest {
@@ -33,6 +37,57 @@ public class GeoUtilTest {
 
     }
 
+    @Test
+    public void testProjectPolygonInPlace() throws Exception {
+        Geometry polygon = new WKTReader(GeoUtil.getWgs84GeometryFactory()).read(
+                "POLYGON ((9 48, 10 48, 10 49, 9 49, 9 48), (9.2 48.2, 9.4 48.2, 9.4 48.4, 9.2 48.2))");
+        Geometry copy = GeoUtil.project(polygon, GeoUtil.GOOGLE_MERCATOR_SRID);
+
+        Geometry projected = GeoUtil.projectInPlace((Geometry) polygon.clone(), GeoUtil.GOOGLE_MERCATOR_SRID);
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, projected.getSRID());
+        assertTrue(copy.equalsExact(projected));
+        assertEquals(copy.getEnvelopeInternal(), projected.getEnvelopeInternal());
+
+        Coordinate c = new Coordinate(9.4, 48.4);
+        GeoUtil.mercator(c);
+        assertEquals(c, ((Polygon) projected).getInteriorRingN(0).getCoordinateN(2));
+    }
+
+    @Test
+    public void testProjectInPlaceSharedCoordinates() throws Exception {
+        Coordinate c0 = new Coordinate(9, 48);
+        GeometryFactory factory = GeoUtil.getWgs84GeometryFactory();
+        Polygon polygon = factory.createPolygon(new Coordinate[]{c0, new Coordinate(10, 48),
+                new Coordinate(10, 49), c0});
+        Polygon copy = GeoUtil.project(polygon, GeoUtil.GOOGLE_MERCATOR_SRID);
+
+        Polygon projected = GeoUtil.projectInPlace(polygon, GeoUtil.GOOGLE_MERCATOR_SRID);
+        assertTrue(copy.equalsExact(projected));
+        // the factory is kept
+        assertSame(factory, projected.getFactory());
+    }
+
+    @Test
+    public void testProjectFeatureCollection() throws Exception {
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        for (int i = 0; i < 100; i++) {
+            Feature feature = new Feature();
+            feature.setGeometry(GeoUtil.asWgs84(9 + i * 0.01, 48));
+            collection.add(feature);
+        }
+        collection.setCrs(new Crs());
+        Envelope wgs84Bbox = collection.getBbox();
+
+        GeoUtil.project(collection, GeoUtil.GOOGLE_MERCATOR_SRID, true, true);
+
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, collection.getCrs().getSrid());
+        for (Feature feature : collection)
+            assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, feature.getGeometry().getSRID());
+        assertEquals(GeoUtil.asMercator(collection.getFeatures().get(0).getGeometry()).getCoordinate().x,
+                collection.getBbox().getMinX(), 0);
+        assertTrue(wgs84Bbox.getMinX() < collection.getBbox().getMinX());
+    }
+
     @Test
     public void testMetricDistance() throws Exception {
         Point destinationPoint = GeoUtil.destinationPoint(MARIENPLATZ_STUTTGART, 10, 33);
@@ -51,6 +106,63 @@ public class GeoUtilTest {
         assertEquals(10, distance, 0.001);
     }
 
+    @Test
+    public void testBatchDistances() throws Exception {
+        double[] lons = {9.1679004, 9.18, 13.404954, -122.693099, 9.1679004};
+        double[] lats = {48.76456, 48.78, 52.520008, 45.517577, 48.76456};
+
+        double[] result = new double[lons.length];
+        GeoUtil.distances(lons[0], lats[0], lons, lats, result);
+        double[] matrix = GeoUtil.distanceMatrix(lons, lats, lons, lats);
+
+        double track = 0;
+        for (int i = 0; i < lons.length; i++) {
+            double expected = GeoUtil.haversineDistance(lons[0], lats[0], lons[i], lats[i]);
+            assertEquals(expected, result[i], 0.001);
+            for (int j = 0; j < lons.length; j++)
+                assertEquals(GeoUtil.haversineDistance(lons[i], lats[i], lons[j], lats[j]), matrix[i * lons.length + j], 0.001);
+            if (i > 0)
+                track += GeoUtil.haversineDistance(lons[i - 1], lats[i - 1], lons[i], lats[i]);
+        }
+        assertEquals(0, result[4], 0);
+        assertEquals(track, GeoUtil.trackLength(lons, lats), 0.01);
+    }
+
+    @Test
+    public void testEquirectangularErrorBound() throws Exception {
+        for (double lat = -70; lat <= 70; lat += 5) {
+            for (double bearing = 0; bearing < 360; bearing += 15) {
+                Point destination = GeoUtil.destinationPoint(GeoUtil.asWgs84(9, lat), 100000, bearing);
+                double exact = GeoUtil.haversineDistance(9, lat, destination.getX(), destination.getY());
+                double approx = GeoUtil.equirectangularDistance(9, lat, destination.getX(), destination.getY());
+                assertEquals(exact, approx, exact * 0.001);
+            }
+        }
+    }
+
+    @Test
+    public void testPreparedLatLon() throws Exception {
+        PreparedLatLon origin = PreparedLatLon.of(MARIENPLATZ_STUTTGART);
+        for (double bearing = 0; bearing < 360; bearing += 30) {
+            for (double distance = 1; distance <= 1000000; distance *= 10) {
+                Point expected = GeoUtil.destinationPoint(MARIENPLATZ_STUTTGART, distance, bearing);
+                Point destination = origin.destinationPoint(distance, bearing);
+                assertEquals(expected.getX(), destination.getX(), 1e-12);
+                assertEquals(expected.getY(), destination.getY(), 1e-12);
+
+                PreparedLatLon other = new PreparedLatLon(destination.getX(), destination.getY());
+                double metric = GeoUtil.metricDistance(MARIENPLATZ_STUTTGART, destination);
+                assertEquals(metric, origin.distance(destination.getX(), destination.getY()), 1e-6);
+                assertEquals(metric, origin.distance(other), 1e-6);
+
+                double bearingDeg = GeoUtil.bearingDeg(MARIENPLATZ_STUTTGART, destination);
+                assertEquals(bearingDeg, origin.bearingDeg(destination.getX(), destination.getY()), 1e-9);
+                assertEquals(bearingDeg, origin.bearingDeg(other), 1e-6);
+            }
+        }
+        assertEquals(GeoUtil.wgs84DistanceX(10, MARIENPLATZ_STUTTGART.getY()), origin.wgs84DistanceX(10), 0);
+    }
+
     @Test
     public void testWgs84Distance() throws Exception {
         Point destinationPoint = GeoUtil.asWgs84(10, 70);
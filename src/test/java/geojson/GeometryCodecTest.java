@@ -0,0 +1,86 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.WKTReader;
+import geojson.example.ExampleFeature;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeometryCodecTest {
+
+    private static final String[] WKT = {
+            "POINT (13.4049541 52.5200066)",
+            "POINT (1 2 3.5)",
+            "LINESTRING (0 0, 1.5 1, -2.25 3)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (1 1, 2 1, 2 2, 1 1))",
+            "MULTIPOINT ((1 2), (3 4))",
+            "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3, 4 5))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5), (5.2 5.1, 5.8 5.1, 5.8 5.7, 5.2 5.1)))",
+            "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (3 4, 5 6))",
+            "POLYGON EMPTY",
+            "GEOMETRYCOLLECTION EMPTY"
+    };
+
+    @Test
+    public void testWkbRoundTrip() throws Exception {
+        GeometryCodec codec = new WkbGeometryCodec();
+        for (String wkt : WKT) {
+            Geometry geometry = new WKTReader(GeoUtil.getWgs84GeometryFactory()).read(wkt);
+            Geometry decoded = codec.decode(codec.encode(geometry), GeoUtil.getWgs84GeometryFactory());
+            assertTrue(wkt, geometry.equalsExact(decoded));
+            assertEquals(GeoUtil.WGS84_SRID, decoded.getSRID());
+        }
+    }
+
+    @Test
+    public void testTwkbRoundTrip() throws Exception {
+        GeometryCodec codec = new TwkbGeometryCodec();
+        for (String wkt : WKT) {
+            Geometry geometry = new WKTReader(GeoUtil.getWgs84GeometryFactory()).read(wkt);
+            Geometry decoded = codec.decode(codec.encode(geometry), GeoUtil.getWgs84GeometryFactory());
+            assertTrue(wkt + " " + decoded, geometry.equalsExact(decoded, 1e-9));
+            assertEquals(geometry.getCoordinates().length, decoded.getCoordinates().length);
+        }
+
+        Geometry point = new WKTReader().read("POINT (1 2 3.5)");
+        assertEquals(3.5, codec.decode(codec.encode(point), GeoUtil.getWgs84GeometryFactory()).getCoordinate().z, 0);
+    }
+
+    @Test
+    public void testTwkbPrecision() throws Exception {
+        GeometryCodec codec = new TwkbGeometryCodec(2);
+        Geometry line = new WKTReader().read("LINESTRING (13.40495 52.52001, 13.41 52.53, 13.411 52.5301)");
+        Geometry decoded = codec.decode(codec.encode(line), GeoUtil.getWgs84GeometryFactory());
+        assertTrue(decoded.equalsExact(new WKTReader().read("LINESTRING (13.4 52.52, 13.41 52.53, 13.41 52.53)")));
+    }
+
+    @Test
+    public void testModule() throws Exception {
+        ExampleFeature feature = new ExampleFeature(new WKTReader().read(
+                "LINESTRING (13.4049541 52.5200066, 13.4059541 52.5210066, 13.4069541 52.5220066)"), "e1");
+        String json = Mapper.get().writeValueAsString(feature);
+
+        for (GeometryCodec codec : new GeometryCodec[]{new WkbGeometryCodec(), new TwkbGeometryCodec()}) {
+            ObjectMapper mapper = Mapper.create(new GeoJacksonModule().setGeometryCodec(codec));
+            String binary = mapper.writeValueAsString(feature);
+            assertTrue(binary.length() < json.length());
+
+            ExampleFeature read = mapper.readValue(binary, ExampleFeature.class);
+            assertEquals("e1", read.getName());
+            assertTrue(feature.getGeometry().equalsExact(read.getGeometry(), 1e-9));
+
+            // GeoJSON geometries are still accepted
+            assertTrue(feature.getGeometry().equalsExact(mapper.readValue(json, ExampleFeature.class).getGeometry()));
+        }
+
+        String mercator = Mapper.create(new GeoJacksonModule().setGeometryCodec(new TwkbGeometryCodec()))
+                .writeValueAsString(feature).replace("\"type\":\"Feature\"",
+                        "\"type\":\"Feature\",\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:3857\"}}");
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, Mapper.create(new GeoJacksonModule()
+                .setGeometryCodec(new TwkbGeometryCodec())).readValue(mercator, ExampleFeature.class)
+                .getGeometry().getSRID());
+    }
+}
@@ -0,0 +1,103 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vividsolutions.jts.geom.*;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequence;
+import com.vividsolutions.jts.geom.impl.PackedCoordinateSequence;
+import com.vividsolutions.jts.geom.impl.PackedCoordinateSequenceFactory;
+import com.vividsolutions.jts.io.WKTReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GeometryJsonDeserializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @Before
+    public void setUp() throws Exception {
+        objectMapper = Mapper.get();
+    }
+
+    @Test
+    public void testCoordinatesBeforeType() throws Exception {
+        Geometry geometry = objectMapper.readValue(
+                "{\"coordinates\":[[1.5,2.5],[3,4]],\"bbox\":[1.5,2.5,3,4],\"type\":\"LineString\"}", Geometry.class);
+
+        assertEquals("LineString", geometry.getGeometryType());
+        assertEquals(GeoUtil.WGS84_SRID, geometry.getSRID());
+        assertTrue(new WKTReader().read("LINESTRING (1.5 2.5, 3 4)").equalsExact(geometry));
+    }
+
+    @Test
+    public void testPoint3D() throws Exception {
+        Point point = (Point) objectMapper.readValue("{\"type\":\"Point\",\"coordinates\":[1,2,3]}", Geometry.class);
+
+        assertEquals(1, point.getX(), 0);
+        assertEquals(2, point.getY(), 0);
+        assertEquals(3, point.getCoordinate().z, 0);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        WKTReader reader = new WKTReader();
+        String[] wkts = {
+                "POINT (9.1679004 48.76456)",
+                "MULTIPOINT ((1 2), (3 4))",
+                "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3, 4 4))",
+                "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (1 1, 2 1, 2 2, 1 1))",
+                "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+                "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 1 1))"
+        };
+
+        for (String wkt : wkts) {
+            Geometry geometry = reader.read(wkt);
+            String json = objectMapper.writeValueAsString(geometry);
+            Geometry geometry_ = objectMapper.readValue(json, Geometry.class);
+            assertTrue(wkt, geometry.equalsExact(geometry_));
+        }
+    }
+
+    @Test
+    public void testPackedCoordinateSequences() throws Exception {
+        ObjectMapper packedMapper = Mapper.create(new GeoJacksonModule()
+                .setCoordinateSequenceFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY));
+        LineString line = (LineString) packedMapper.readValue(
+                "{\"type\":\"LineString\",\"coordinates\":[[1,2],[3,4]]}", Geometry.class);
+        assertTrue(line.getCoordinateSequence() instanceof PackedCoordinateSequence.Double);
+        assertEquals(2, line.getCoordinateSequence().getDimension());
+
+        Point point = (Point) packedMapper.readValue("{\"type\":\"Point\",\"coordinates\":[1,2,3]}",
+                Geometry.class);
+        assertEquals(3, point.getCoordinateSequence().getDimension());
+        assertEquals(3, point.getCoordinateSequence().getOrdinate(0, CoordinateSequence.Z), 0);
+
+        // projected copies and features with crs keep the packed sequences
+        LineString mercator = GeoUtil.project(line, GeoUtil.GOOGLE_MERCATOR_SRID);
+        assertTrue(mercator.getCoordinateSequence() instanceof PackedCoordinateSequence.Double);
+        assertEquals(GeoUtil.metricDistance(line.getStartPoint(), line.getEndPoint()),
+                GeoUtil.metricDistance(mercator.getStartPoint(), mercator.getEndPoint()), 1e-6);
+
+        Feature feature = packedMapper.readValue("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\"," +
+                "\"coordinates\":[1,2]},\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:3857\"}}}",
+                Feature.class);
+        Point featurePoint = (Point) feature.getGeometry();
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, featurePoint.getSRID());
+        assertTrue(featurePoint.getCoordinateSequence() instanceof PackedCoordinateSequence.Double);
+
+        // sequences of Coordinate objects and the shared factories by default
+        LineString arrayLine = (LineString) objectMapper.readValue(
+                "{\"type\":\"LineString\",\"coordinates\":[[1,2],[3,4]]}", Geometry.class);
+        assertTrue(arrayLine.getCoordinateSequence() instanceof CoordinateArraySequence);
+        assertSame(GeoUtil.getWgs84GeometryFactory(), arrayLine.getFactory());
+        assertTrue(arrayLine.equalsExact(line));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingType() throws Exception {
+        objectMapper.readValue("{\"coordinates\":[1,2]}", Geometry.class);
+    }
+}
@@ -0,0 +1,107 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.WKTReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeometryJsonSerializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @Before
+    public void setUp() throws Exception {
+        objectMapper = Mapper.get();
+    }
+
+    @Test
+    public void testPolygonWithHoles() throws Exception {
+        Geometry polygon = new WKTReader().read(
+                "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (1 1, 2 1, 2 2, 1 1), (5 5, 6 5, 6 6, 5 5))");
+
+        assertEquals("{\"type\":\"Polygon\",\"coordinates\":[" +
+                        "[[0.0,0.0],[10.0,0.0],[10.0,10.0],[0.0,10.0],[0.0,0.0]]," +
+                        "[[1.0,1.0],[2.0,1.0],[2.0,2.0],[1.0,1.0]]," +
+                        "[[5.0,5.0],[6.0,5.0],[6.0,6.0],[5.0,5.0]]]}",
+                objectMapper.writeValueAsString(polygon));
+        assertTrue(polygon.equalsExact(objectMapper.readValue(objectMapper.writeValueAsString(polygon), Geometry.class)));
+    }
+
+    @Test
+    public void testPrecision() throws Exception {
+        ObjectMapper mapper = Mapper.create(new GeoJacksonModule(new CoordinatePrecision()
+                .setDecimals(GeoUtil.WGS84_SRID, 6)
+                .setDecimals(GeoUtil.GOOGLE_MERCATOR_SRID, 2)));
+
+        assertEquals("{\"type\":\"Point\",\"coordinates\":[13.404954,-52.5]}",
+                mapper.writeValueAsString(GeoUtil.asWgs84(13.404953999999999, -52.50000001)));
+        assertEquals("{\"type\":\"Point\",\"coordinates\":[1020566,6235006.17]}",
+                mapper.writeValueAsString(GeoUtil.asMercator(1020566.0041714492, 6235006.16571537)));
+        assertEquals("{\"type\":\"LineString\",\"coordinates\":[[0,0],[1,-0.000001]]}",
+                mapper.writeValueAsString(GeoUtil.getWgs84GeometryFactory().createLineString(new Coordinate[]{
+                        new Coordinate(-0.0000001, 0.0000004), new Coordinate(0.9999999, -0.0000009)})));
+    }
+
+    @Test
+    public void testDecimalFormatter() throws Exception {
+        char[] buffer = new char[DecimalFormatter.BUFFER_SIZE];
+        assertEquals("0.001", new String(buffer, 0, DecimalFormatter.format(0.00099, 3, buffer)));
+        assertEquals("-180", new String(buffer, 0, DecimalFormatter.format(-180, 7, buffer)));
+        assertEquals("123457", new String(buffer, 0, DecimalFormatter.format(123456.5, 0, buffer)));
+        assertEquals("-123457", new String(buffer, 0, DecimalFormatter.format(-123456.5, 0, buffer)));
+        assertEquals("-3", new String(buffer, 0, DecimalFormatter.format(-2.5, 0, buffer)));
+        assertEquals("-0.13", new String(buffer, 0, DecimalFormatter.format(-0.125, 2, buffer)));
+        assertEquals("0", new String(buffer, 0, DecimalFormatter.format(-0.0004, 3, buffer)));
+        assertEquals(-3, DecimalFormatter.round(-2.5, 0), 0);
+        assertEquals(3, DecimalFormatter.round(2.5, 0), 0);
+        assertEquals(-1, DecimalFormatter.format(Double.NaN, 6, buffer));
+        assertEquals(-1, DecimalFormatter.format(1e300, 6, buffer));
+    }
+
+    @Test
+    public void testConcurrentSerialization() throws Exception {
+        WKTReader reader = new WKTReader();
+        final List<Geometry> geometries = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Geometry geometry = reader.read("MULTILINESTRING ((" + i + " 0, " + i + " 1, " + i + " 2), (0 " + i + ", 1 " + i + "))");
+            geometries.add(geometry);
+            expected.add(objectMapper.writeValueAsString(geometry));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                final int offset = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int n = 0; n < 2000; n++) {
+                            int i = (n + offset) % geometries.size();
+                            if (!expected.get(i).equals(objectMapper.writeValueAsString(geometries.get(i))))
+                                return false;
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package geojson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vividsolutions.jts.geom.Geometry;
+import geojson.example.ExampleFeature;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LazyGeometryTest {
+
+    private final ObjectMapper mapper = Mapper.create(new GeoJacksonModule().setLazyGeometries(true));
+
+    @Test
+    public void testPassThrough() throws Exception {
+        String geometry = "{\"type\":\"LineString\",\"coordinates\":[[1.50,2.0],[3,4e2]],\"extra\":[true,null,\"x\"]}";
+        ExampleFeature feature = mapper.readValue("{\"type\":\"Feature\",\"properties\":{\"name\":\"a\"}," +
+                "\"geometry\":" + geometry + "}", ExampleFeature.class);
+
+        assertEquals("a", feature.getName());
+        assertNotNull(((Feature) feature).getRawGeometry());
+        assertTrue(mapper.writeValueAsString(feature).contains("\"geometry\":" + geometry));
+
+        assertEquals(400, feature.getGeometry().getCoordinates()[1].y, 0);
+        assertNull(((Feature) feature).getRawGeometry());
+        assertTrue(mapper.writeValueAsString(feature).contains("\"coordinates\":[[1.5,2.0],[3.0,400.0]]"));
+    }
+
+    @Test
+    public void testGeometryCodecDecodes() throws Exception {
+        String json = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}";
+        ObjectMapper codecMapper = Mapper.create(new GeoJacksonModule().setGeometryCodec(new WkbGeometryCodec()));
+        Feature lazy = mapper.readValue(json, Feature.class);
+        assertNotNull(lazy.getRawGeometry());
+        String written = codecMapper.writeValueAsString(lazy);
+
+        lazy.getGeometry();
+        assertEquals(codecMapper.writeValueAsString(lazy), written);
+        assertEquals(GeoUtil.asWgs84(1, 2), codecMapper.readValue(written, Feature.class).getGeometry());
+    }
+
+    @Test
+    public void testCrsAfterGeometry() throws Exception {
+        Feature feature = mapper.readValue("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\"," +
+                "\"coordinates\":[1,2]},\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:3857\"}}}",
+                Feature.class);
+        assertNotNull(feature.getRawGeometry());
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, feature.getGeometry().getSRID());
+
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        collection.add(feature);
+        collection.setCrs(new Crs(GeoUtil.GOOGLE_MERCATOR_SRID));
+        FeatureCollection<Feature> read = mapper.readValue(mapper.writeValueAsString(collection),
+                new TypeReference<FeatureCollection<Feature>>() {
+                });
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, read.getFeatures().get(0).getGeometry().getSRID());
+    }
+
+    @Test
+    public void testNullGeometryAndEagerDefault() throws Exception {
+        assertNull(mapper.readValue("{\"type\":\"Feature\",\"geometry\":null}", Feature.class).getGeometry());
+
+        Feature eager = Mapper.get().readValue("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\"," +
+                "\"coordinates\":[1,2]}}", Feature.class);
+        assertNull(eager.getRawGeometry());
+        assertEquals(GeoUtil.asWgs84(1, 2), eager.getGeometry());
+    }
+
+    @Test
+    public void testConcurrentDecoding() throws Exception {
+        for (int n = 0; n < 50; n++) {
+            final Feature feature = mapper.readValue("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\"," +
+                    "\"coordinates\":[1,2]}}", Feature.class);
+            List<Geometry> all = IntStream.range(0, 8).parallel().mapToObj(i -> feature.getGeometry())
+                    .collect(Collectors.toList());
+            assertTrue(all.stream().allMatch(g -> g == all.get(0)));
+        }
+    }
+}
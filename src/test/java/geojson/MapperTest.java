@@ -0,0 +1,56 @@
+package geojson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MapperTest {
+
+    @Test
+    public void testSharedInstances() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Object[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(() -> new Object[]{Mapper.get(), GeoUtil.getWgs84GeometryFactory(),
+                        GeoUtil.getMercatorFactory(), GeoUtil.getLocalGeometryFactory()});
+            }
+            for (Future<Object[]> result : executor.invokeAll(tasks)) {
+                Object[] instances = result.get();
+                assertSame(Mapper.get(), instances[0]);
+                assertSame(GeoUtil.getWgs84GeometryFactory(), instances[1]);
+                assertSame(GeoUtil.getMercatorFactory(), instances[2]);
+                assertSame(GeoUtil.getLocalGeometryFactory(), instances[3]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(GeoUtil.WGS84_SRID, GeoUtil.getWgs84GeometryFactory().getSRID());
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        Mapper.warmUp(ExampleFeature.class, ExampleFeatureCollection.class);
+
+        ObjectMapper mapper = Mapper.create(new GeoJacksonModule().setAccessorDeserializers(true)
+                .setGeometryCodec(new WkbGeometryCodec()));
+        Mapper.warmUp(mapper, ExampleFeatureCollection.class);
+
+        ExampleFeatureCollection collection = new ExampleFeatureCollection();
+        collection.add(new ExampleFeature(GeoUtil.asWgs84(1, 2), "e1"));
+        ExampleFeatureCollection read = mapper.readValue(mapper.writeValueAsBytes(collection),
+                ExampleFeatureCollection.class);
+        assertEquals("e1", read.getFeatures().get(0).getName());
+    }
+}
@@ -0,0 +1,93 @@
+package geojson;
+
+import geojson.example.ExampleFeature;
+import geojson.example.ExampleFeatureCollection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelFeatureCollectionReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadInOrder() throws Exception {
+        ExampleFeatureCollection expected = new ExampleFeatureCollection();
+        expected.setId("c1");
+        expected.setName("example");
+        for (int i = 0; i < 1000; i++)
+            expected.add(new ExampleFeature(GeoUtil.asWgs84(i % 360 - 180, i % 170 - 85), "e" + i));
+        byte[] json = Mapper.get().writeValueAsBytes(expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ExampleFeatureCollection collection = new ParallelFeatureCollectionReader(Mapper.get(), executor)
+                    .setChunkSize(1000)
+                    .read(json, ExampleFeatureCollection.class, ExampleFeature.class);
+
+            assertEquals("c1", collection.getId());
+            assertEquals("example", collection.getName());
+            assertEquals(1000, collection.getFeatures().size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("e" + i, collection.getFeatures().get(i).getName());
+                assertEquals(expected.getFeatures().get(i).getGeometry(), collection.getFeatures().get(i).getGeometry());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCrsAfterFeatures() throws Exception {
+        String json = "{\"type\":\"FeatureCollection\",\"features\":[null,{\"type\":\"Feature\",\"geometry\":" +
+                "{\"type\":\"Point\",\"coordinates\":[1,2]}}, {\"type\":\"Feature\",\"geometry\":null}]," +
+                "\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:3857\"}}}";
+
+        FeatureCollection<Feature> collection = new ParallelFeatureCollectionReader().read(json.getBytes("UTF-8"),
+                Feature.class);
+        assertEquals(2, collection.getFeatures().size());
+        assertEquals(GeoUtil.GOOGLE_MERCATOR_SRID, collection.getFeatures().get(0).getGeometry().getSRID());
+    }
+
+    @Test
+    public void testNoFeatures() throws Exception {
+        assertEquals(0, new ParallelFeatureCollectionReader().read("{\"type\":\"FeatureCollection\"}"
+                .getBytes("UTF-8"), Feature.class).getFeatures().size());
+    }
+
+    @Test
+    public void testStringsAndNestedMembers() throws Exception {
+        String json = "{\"type\":\"FeatureCollection\",\"meta\":{\"features\":[1,2]},\"note\":\"\\\"features\\\":[\"," +
+                "\"features\":[{\"type\":\"Feature\",\"properties\":{\"name\":\"}{]\\\"\",\"features\":[{}]}}," +
+                "{\"type\":\"Feature\",\"properties\":{\"name\":\"b\"}}]}";
+        FeatureCollection<Feature> expected = Mapper.get().readValue(json,
+                Mapper.get().getTypeFactory().constructParametricType(FeatureCollection.class, Feature.class));
+
+        FeatureCollection<Feature> collection = new ParallelFeatureCollectionReader().read(json.getBytes("UTF-8"),
+                Feature.class);
+        assertEquals(2, collection.getFeatures().size());
+        assertEquals("}{]\"", collection.getFeatures().get(0).get("name"));
+        assertEquals(Mapper.get().writeValueAsString(expected), Mapper.get().writeValueAsString(collection));
+    }
+
+    @Test
+    public void testReadMappedFile() throws Exception {
+        ExampleFeatureCollection expected = new ExampleFeatureCollection();
+        for (int i = 0; i < 500; i++)
+            expected.add(new ExampleFeature(GeoUtil.asWgs84(i % 360 - 180, i % 170 - 85), "e" + i));
+        Path path = folder.newFile("features.json").toPath();
+        Files.write(path, Mapper.get().writeValueAsBytes(expected));
+
+        ExampleFeatureCollection collection = new ParallelFeatureCollectionReader().setChunkSize(2000)
+                .read(path, ExampleFeatureCollection.class, ExampleFeature.class);
+        assertEquals(Mapper.get().writeValueAsString(expected), Mapper.get().writeValueAsString(collection));
+    }
+}
@@ -0,0 +1,106 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.io.WKTReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PointInPolygonIndexTest {
+
+    private static Feature feature(Geometry geometry) {
+        Feature feature = new Feature();
+        feature.setGeometry(geometry);
+        return feature;
+    }
+
+    @Test
+    public void testPreparedGeometryCache() throws Exception {
+        Feature feature = feature(new WKTReader().read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"));
+        PreparedGeometry prepared = feature.getPreparedGeometry();
+        assertSame(prepared, feature.getPreparedGeometry());
+        assertTrue(prepared.contains(GeoUtil.asWgs84(5, 5)));
+
+        feature.setGeometry(new WKTReader().read("POLYGON ((20 20, 30 20, 30 30, 20 20))"));
+        assertNotSame(prepared, feature.getPreparedGeometry());
+        assertTrue(!feature.getPreparedGeometry().contains(GeoUtil.asWgs84(5, 5)));
+
+        feature.setGeometry(null);
+        assertNull(feature.getPreparedGeometry());
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        WKTReader reader = new WKTReader(GeoUtil.getWgs84GeometryFactory());
+        Feature square = feature(reader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (4 4, 6 4, 6 6, 4 6, 4 4))"));
+        Feature hole = feature(reader.read("POLYGON ((4 4, 6 4, 6 6, 4 6, 4 4))"));
+        Feature multi = feature(reader.read(
+                "MULTIPOLYGON (((8 8, 12 8, 12 12, 8 12, 8 8)), ((20 20, 21 20, 21 21, 20 20)))"));
+        Feature line = feature(reader.read("LINESTRING (0 0, 10 10)"));
+
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        collection.add(square).add(hole).add(multi).add(line).add(new Feature());
+        PointInPolygonIndex<Feature> index = new PointInPolygonIndex<>(collection);
+
+        assertEquals(3, index.size());
+        assertSame(square, index.find(1, 1));
+        assertSame(hole, index.find(5, 5));
+        assertSame(square, index.find(GeoUtil.asWgs84(9, 9)));
+        assertEquals(2, index.findAll(9, 9).size());
+        assertSame(multi, index.find(20.5, 20.2));
+        // on the boundary
+        assertSame(square, index.find(0, 5));
+        assertNull(index.find(15, 15));
+        assertTrue(index.findAll(-1, -1).isEmpty());
+    }
+
+    @Test
+    public void testGeometryCollectionIsSkipped() throws Exception {
+        WKTReader reader = new WKTReader(GeoUtil.getWgs84GeometryFactory());
+        Feature square = feature(reader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"));
+        Feature collection = feature(reader.read("GEOMETRYCOLLECTION (POLYGON ((0 0, 5 0, 5 5, 0 5, 0 0)))"));
+
+        PointInPolygonIndex<Feature> index = new PointInPolygonIndex<>(new FeatureCollection<>()
+                .add(square).add(collection));
+        assertEquals(1, index.size());
+        assertSame(square, index.find(1, 1));
+    }
+
+    @Test
+    public void testParallelLookupsMatchJts() throws Exception {
+        Random random = new Random(3);
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 100, y = random.nextDouble() * 100;
+            Geometry circle = GeoUtil.asWgs84(x, y).buffer(1 + random.nextDouble() * 5, 16);
+            features.add(feature(circle));
+        }
+        final PointInPolygonIndex<Feature> index = new PointInPolygonIndex<>(features);
+
+        final List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 5000; i++)
+            points.add(GeoUtil.asWgs84(random.nextDouble() * 100, random.nextDouble() * 100));
+
+        long mismatches = IntStream.range(0, points.size()).parallel().filter(i -> {
+            Point p = points.get(i);
+            List<Feature> expected = new ArrayList<>();
+            for (Feature feature : features) {
+                if (feature.getGeometry().covers(p))
+                    expected.add(feature);
+            }
+            return !expected.equals(index.findAll(p));
+        }).count();
+        assertEquals(0, mismatches);
+    }
+}
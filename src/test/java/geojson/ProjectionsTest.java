@@ -0,0 +1,55 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Point;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ProjectionsTest {
+
+    private static Point MARIENPLATZ_STUTTGART = GeoUtil.asWgs84(9.1679004, 48.76456);
+
+    @Test
+    public void testUtm() throws Exception {
+        // CN Tower, zone 17T 630084 4833438
+        Point p = GeoUtil.project(GeoUtil.asWgs84(-79.387139, 43.642567), 32617);
+        assertEquals(32617, p.getSRID());
+        assertEquals(630084, p.getX(), 1);
+        assertEquals(4833438, p.getY(), 1);
+
+        // southern hemisphere round trip
+        Point south = GeoUtil.asWgs84(151.2093, -33.8688);
+        Point pW = GeoUtil.project(GeoUtil.project(south, 32756), GeoUtil.WGS84_SRID);
+        assertEquals(south.getX(), pW.getX(), 1e-7);
+        assertEquals(south.getY(), pW.getY(), 1e-7);
+    }
+
+    @Test
+    public void testLaea() throws Exception {
+        // example of EPSG Guidance Note 7-2
+        Point p = GeoUtil.project(GeoUtil.asWgs84(5, 50), LaeaProjection.ETRS89_LAEA_SRID);
+        assertEquals(3962799.45, p.getX(), 0.01);
+        assertEquals(2999718.85, p.getY(), 0.01);
+
+        Point pW = GeoUtil.project(p, GeoUtil.WGS84_SRID);
+        assertEquals(5, pW.getX(), 1e-7);
+        assertEquals(50, pW.getY(), 1e-7);
+    }
+
+    @Test
+    public void testCompositeTransform() throws Exception {
+        Point utm = GeoUtil.project(MARIENPLATZ_STUTTGART, 25832);
+        Point laea = GeoUtil.project(utm, LaeaProjection.ETRS89_LAEA_SRID);
+        Point expected = GeoUtil.project(MARIENPLATZ_STUTTGART, LaeaProjection.ETRS89_LAEA_SRID);
+        assertEquals(expected.getX(), laea.getX(), 0.001);
+        assertEquals(expected.getY(), laea.getY(), 0.001);
+
+        assertSame(Projections.transform(25832, 3035), Projections.transform(25832, 3035));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupported() throws Exception {
+        GeoUtil.project(MARIENPLATZ_STUTTGART, 31467);
+    }
+}
@@ -0,0 +1,181 @@
+package geojson;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.WKTReader;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VectorTileEncoderTest {
+
+    /**
+     * Minimal protobuf reader for the assertions, returns the fields of a message as [field number, value] pairs,
+     * value is a Long for varints and a byte[] for length delimited fields
+     */
+    private static List<Object[]> fields(byte[] message) {
+        List<Object[]> fields = new ArrayList<>();
+        int[] pos = {0};
+        while (pos[0] < message.length) {
+            long key = varint(message, pos);
+            int field = (int) (key >>> 3);
+            switch ((int) (key & 7)) {
+                case 0:
+                    fields.add(new Object[]{field, varint(message, pos)});
+                    break;
+                case 2:
+                    int length = (int) varint(message, pos);
+                    fields.add(new Object[]{field, Arrays.copyOfRange(message, pos[0], pos[0] + length)});
+                    pos[0] += length;
+                    break;
+                case 1:
+                    pos[0] += 8;
+                    break;
+                default:
+                    pos[0] += 4;
+            }
+        }
+        return fields;
+    }
+
+    private static long varint(byte[] bytes, int[] pos) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+
+    private static List<Long> packed(byte[] bytes) {
+        List<Long> values = new ArrayList<>();
+        int[] pos = {0};
+        while (pos[0] < bytes.length)
+            values.add(varint(bytes, pos));
+        return values;
+    }
+
+    private static Object field(List<Object[]> fields, int field) {
+        for (Object[] f : fields) {
+            if ((Integer) f[0] == field)
+                return f[1];
+        }
+        return null;
+    }
+
+    private static List<Object> all(List<Object[]> fields, int field) {
+        List<Object> values = new ArrayList<>();
+        for (Object[] f : fields) {
+            if ((Integer) f[0] == field)
+                values.add(f[1]);
+        }
+        return values;
+    }
+
+    private static Feature feature(Geometry geometry, String id, String key, Object value) {
+        Feature feature = new Feature();
+        feature.setGeometry(geometry);
+        feature.setId(id);
+        feature.set(key, value);
+        return feature;
+    }
+
+    @Test
+    public void testPointAndDictionary() throws Exception {
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        // the center of tile 1/1/1 and a point outside of it
+        collection.add(feature(GeoUtil.asWgs84(90, -66.51326044311186), "7", "name", "a"));
+        collection.add(feature(GeoUtil.asWgs84(95, -70), "8", "name", "a"));
+        collection.add(feature(GeoUtil.asWgs84(-90, 66), "9", "name", "b"));
+
+        byte[] tile = new VectorTileEncoder().encode(1, 1, 1, "points", collection);
+        List<Object[]> layer = fields((byte[]) field(fields(tile), 3));
+        assertEquals(2L, field(layer, 15));
+        assertEquals("points", new String((byte[]) field(layer, 1), StandardCharsets.UTF_8));
+        assertEquals(4096L, field(layer, 5));
+
+        List<Object> features = all(layer, 2);
+        assertEquals(2, features.size());
+        assertEquals(1, all(layer, 3).size());
+        assertEquals(1, all(layer, 4).size());
+
+        List<Object[]> first = fields((byte[]) features.get(0));
+        assertEquals(7L, field(first, 1));
+        assertEquals(Arrays.asList(0L, 0L), packed((byte[]) field(first, 2)));
+        assertEquals(1L, field(first, 3));
+        // MoveTo(1) to 2048, 2048
+        assertEquals(Arrays.asList(9L, 4096L, 4096L), packed((byte[]) field(first, 4)));
+    }
+
+    @Test
+    public void testPolygonClippedAndOriented() throws Exception {
+        // counter clockwise in WGS84 and larger than the tile
+        Geometry polygon = GeoUtil.getWgs84GeometryFactory().toGeometry(new Envelope(-170, 170, -80, 80));
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        collection.add(feature(polygon, null, "n", 1));
+
+        byte[] tile = new VectorTileEncoder().encode(2, 1, 1, "polygons", collection);
+        List<Object[]> layer = fields((byte[]) field(fields(tile), 3));
+        List<Object[]> feature = fields((byte[]) all(layer, 2).get(0));
+        assertEquals(null, field(feature, 1));
+        assertEquals(3L, field(feature, 3));
+
+        List<Long> commands = packed((byte[]) field(feature, 4));
+        assertEquals(9L, (long) commands.get(0));
+        assertEquals(2L | 3 << 3, (long) commands.get(3));
+        assertEquals(15L, (long) commands.get(commands.size() - 1));
+
+        // the clipped ring is the buffered tile, clockwise on screen
+        long x = 0, y = 0;
+        List<long[]> points = new ArrayList<>();
+        for (int i : new int[]{1, 4, 6, 8}) {
+            x += zigzagDecode(commands.get(i));
+            y += zigzagDecode(commands.get(i + 1));
+            points.add(new long[]{x, y});
+        }
+        double area = 0;
+        for (int i = 0; i < 4; i++) {
+            long[] a = points.get(i), b = points.get((i + 1) % 4);
+            area += a[0] * b[1] - b[0] * a[1];
+            assertTrue(Math.abs(a[0]) == 64 || a[0] == 4160);
+            assertTrue(Math.abs(a[1]) == 64 || a[1] == 4160);
+        }
+        assertTrue(area > 0);
+
+        // 1 as sint or uint value
+        List<Object[]> value = fields((byte[]) all(layer, 4).get(0));
+        assertEquals(1L, field(value, 5));
+    }
+
+    @Test
+    public void testLineClippedIntoPieces() throws Exception {
+        // leaves and reenters tile 0/0/0 across the antimeridian buffer
+        Geometry line = new WKTReader(GeoUtil.getWgs84GeometryFactory()).read(
+                "LINESTRING (170 0, 179 1, 200 2, 179 3, 170 4)");
+        FeatureCollection<Feature> collection = new FeatureCollection<>();
+        collection.add(feature(line, "1", "k", true));
+
+        byte[] tile = new VectorTileEncoder().setBuffer(0).encode(0, 0, 0, "lines", collection);
+        List<Object[]> feature = fields((byte[]) all(fields((byte[]) field(fields(tile), 3)), 2).get(0));
+        List<Long> commands = packed((byte[]) field(feature, 4));
+        int moveTos = 0;
+        for (int i = 0; i < commands.size(); ) {
+            long command = commands.get(i);
+            if ((command & 7) == 1)
+                moveTos++;
+            i += 1 + 2 * (command >> 3);
+        }
+        assertEquals(2, moveTos);
+    }
+
+    private static long zigzagDecode(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+}